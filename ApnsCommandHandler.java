@@ -6,12 +6,11 @@ import com.eatthepath.pushy.apns.ApnsClient;
 import com.eatthepath.pushy.apns.ApnsClientBuilder;
 import com.eatthepath.pushy.apns.util.SimpleApnsPushNotification;
 import com.eatthepath.pushy.apns.util.TokenUtil;
-import com.eatthepath.pushy.apns.ApnsSigningKey;
+import com.eatthepath.pushy.apns.auth.ApnsSigningKey;
 import com.eatthepath.pushy.apns.PushNotificationResponse;
 import com.google.gson.Gson;
 
 import java.io.File;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
@@ -125,7 +124,7 @@ public class ApnsCommandHandler {
             SimpleApnsPushNotification pushNotification = new SimpleApnsPushNotification(
                     TokenUtil.sanitizeTokenString(DEVICE_TOKEN),
                     TOPIC,
-                    jsonPayload.getBytes(StandardCharsets.UTF_8)
+                    jsonPayload
             );
 
             CompletableFuture<Void> future = apnsClient.sendNotification(pushNotification)
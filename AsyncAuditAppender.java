@@ -0,0 +1,211 @@
+/*
+ * AsyncAuditAppender.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Audit file appender with a bounded queue and one writer thread. The file stays open;
+ * entries are group-committed every {@code batchSize} entries or {@code flushIntervalMs},
+ * whichever comes first. Producers block when the queue is full and that wait is counted.
+ * close() returns once everything queued before it is on disk.
+ */
+public class AsyncAuditAppender implements AuditSink {
+
+    private static final Logger logger = Logger.getLogger(AsyncAuditAppender.class.getName());
+    // Queued by close() to wake an idle writer; compared by identity and never written.
+    private static final String WAKE_WRITER = new String("");
+
+    public enum Durability {
+        /** fsync the file after every committed batch. */
+        FSYNC,
+        /** Hand each batch to the OS page cache and let it decide when to write. */
+        OS_BUFFERED
+    }
+
+    private final BlockingQueue<String> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Durability durability;
+    private final FileChannel channel;
+    private final Writer writer;
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder blockedAppends = new LongAdder();
+    private final AtomicLong queueHighWater = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    public AsyncAuditAppender(Path file, int queueCapacity, int batchSize, long flushIntervalMs,
+                              Durability durability) throws IOException {
+        if (queueCapacity <= 0 || batchSize <= 0 || flushIntervalMs <= 0) {
+            throw new IllegalArgumentException("Queue capacity, batch size and flush interval must be positive.");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.durability = durability;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                StandardCharsets.UTF_8), 64 * 1024);
+        this.writerThread = new Thread(this::runWriter, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public static AsyncAuditAppender fromConfig(String file) throws IOException {
+        String mode = AuthConfig.getString("audit.durability", "buffered").toLowerCase(Locale.ROOT);
+        return new AsyncAuditAppender(Path.of(file),
+                AuthConfig.getInt("audit.queue.capacity", 8192),
+                AuthConfig.getInt("audit.batch.size", 256),
+                AuthConfig.getLong("audit.flush.interval.ms", 50),
+                mode.equals("fsync") ? Durability.FSYNC : Durability.OS_BUFFERED);
+    }
+
+    @Override
+    public void append(String entry) {
+        if (closed) {
+            logger.log(Level.WARNING, "Audit appender closed; dropping entry.");
+            return;
+        }
+        if (!queue.offer(entry)) {
+            blockedAppends.increment();
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.log(Level.WARNING, "Interrupted while waiting for audit queue space; entry dropped.");
+                return;
+            }
+        }
+        appended.increment();
+        long depth = queue.size();
+        long high;
+        while (depth > (high = queueHighWater.get()) && !queueHighWater.compareAndSet(high, depth)) {
+        }
+    }
+
+    private void runWriter() {
+        List<String> batch = new ArrayList<>(batchSize);
+        long lastCommit = System.nanoTime();
+        int uncommitted = 0;
+
+        while (true) {
+            String first = null;
+            try {
+                first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ignored) {
+                // Only close() stops the writer, and only after the queue is drained.
+            }
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batch.removeIf(entry -> entry == WAKE_WRITER);
+                uncommitted += write(batch);
+                batch.clear();
+            }
+
+            boolean draining = closed && queue.isEmpty();
+            long now = System.nanoTime();
+            if (uncommitted > 0 && (draining || uncommitted >= batchSize || now - lastCommit >= flushIntervalNanos)) {
+                commit();
+                uncommitted = 0;
+                lastCommit = now;
+            }
+            if (draining) break;
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close audit log file.", e);
+        }
+    }
+
+    private int write(List<String> entries) {
+        try {
+            for (String entry : entries) writer.write(entry);
+            written.addAndGet(entries.size());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to write audit batch of " + entries.size() + " entries.", e);
+        }
+        return entries.size();
+    }
+
+    private void commit() {
+        try {
+            writer.flush();
+            if (durability == Durability.FSYNC) channel.force(false);
+            batches.incrementAndGet();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to commit audit batch.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        // An interrupt landing mid-write would close the channel and drop the last batch, so
+        // the writer is woken through the queue. A full queue means it is awake already.
+        queue.offer(WAKE_WRITER);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long appendedCount() {
+        return appended.sum();
+    }
+
+    public long writtenCount() {
+        return written.get();
+    }
+
+    public long batchCount() {
+        return batches.get();
+    }
+
+    // Appends that found the queue full and had to wait for the writer.
+    public long blockedAppendCount() {
+        return blockedAppends.sum();
+    }
+
+    public long queueHighWaterMark() {
+        return queueHighWater.get();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+}
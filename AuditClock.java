@@ -0,0 +1,26 @@
+/*
+ * AuditClock.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+/**
+ * Allocation-free wall clock in epoch nanoseconds: anchored to currentTimeMillis once,
+ * then advanced with nanoTime so consecutive audit entries keep sub-millisecond order.
+ */
+final class AuditClock {
+
+    private static final long ORIGIN = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
+    private AuditClock() {
+    }
+
+    static long nowEpochNanos() {
+        return ORIGIN + System.nanoTime();
+    }
+}
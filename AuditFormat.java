@@ -0,0 +1,33 @@
+/*
+ * AuditFormat.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.Date;
+
+/**
+ * The audit_log.txt line formats, shared by the text sink and the journal reader
+ * so decoded binary records read exactly like the text log.
+ */
+final class AuditFormat {
+
+    private AuditFormat() {
+    }
+
+    static String login(long epochNanos, String username, String role, boolean success, String token) {
+        String status = success ? "SUCCESS" : "FAILURE";
+        String timestamp = new Date(epochNanos / 1_000_000L).toString();
+        return String.format("[AUDIT] %s login for '%s' (%s) at %s | Token: %s%n",
+                status, username, role, timestamp, token);
+    }
+
+    static String evidence(String evidenceId, String note) {
+        return "Evidence ID: " + evidenceId + ", Note: " + note + System.lineSeparator();
+    }
+}
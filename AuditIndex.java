@@ -0,0 +1,433 @@
+/*
+ * AuditIndex.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Secondary indexes over an {@link AuditJournal} for forensic queries: by username, by
+ * session token, by evidence ID and by time range. Kept current from the journal's append
+ * callback.
+ *
+ * Indexes hold journal positions only; matching records are decoded on demand. Token and
+ * evidence lookups go through 64-bit hashes in a primitive multimap with one posting list per
+ * key, and are verified on decode.
+ *
+ * {@link #checkpoint} writes the whole index to index.ckpt in the journal directory, tagged
+ * with the last record it covers. Attach loads the checkpoint and scans only the records after
+ * that one. If the tagged record is no longer in the journal, it rebuilds from a full scan.
+ * Index times are the running maximum of record times, so posting lists stay sorted even when
+ * concurrent logins append slightly out of order; results are filtered on the real timestamp.
+ */
+public class AuditIndex implements AuditJournal.AppendListener {
+
+    private static final Logger logger = Logger.getLogger(AuditIndex.class.getName());
+
+    private static final int TIME_BLOCK = 64;
+    private static final long ORDER_SLACK_NANOS = 1_000_000_000L;
+    private static final String CHECKPOINT_FILE = "index.ckpt";
+    private static final int CHECKPOINT_MAGIC = 0x41494331;
+
+    private final AuditJournalReader reader;
+    private final Path checkpointFile;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> byUser = new HashMap<>();
+    private LongMultiMap byToken = new LongMultiMap(1024);
+    private LongMultiMap byEvidence = new LongMultiMap(1024);
+    private long[] blockTimes = new long[64];
+    private long[] blockStarts = new long[64];
+    private int blocks;
+    private long records;
+    private long maxTime = Long.MIN_VALUE;
+    private long lastPosition = -1;
+    private long lastEpochNanos;
+
+    private AuditIndex(AuditJournalReader reader, Path checkpointFile) {
+        this.reader = reader;
+        this.checkpointFile = checkpointFile;
+    }
+
+    // Restores the last checkpoint and indexes the journal after it, then follows new appends.
+    public static AuditIndex attach(AuditJournal journal) throws IOException {
+        AuditJournalReader reader = new AuditJournalReader(journal.dir());
+        Path checkpointFile = journal.dir().resolve(CHECKPOINT_FILE);
+        synchronized (journal) {
+            AuditIndex index = new AuditIndex(reader, checkpointFile);
+            if (!index.restore() || !index.resumesAt(reader)) index = new AuditIndex(reader, checkpointFile);
+            index.catchUp();
+            journal.setListener(index);
+            return index;
+        }
+    }
+
+    // Checkpoints every intervalMs on a daemon thread; 0 disables.
+    public void checkpointEvery(long intervalMs) {
+        if (intervalMs <= 0) return;
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audit-index-checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to checkpoint audit index.", e);
+        }
+    }
+
+    // Captures the index under the lock, then writes it with the lock released. Posting lists
+    // only grow, so the capture shares their arrays and copies just the multimap slot tables.
+    public void checkpoint() throws IOException {
+        long position;
+        long epochNanos;
+        long recordCount;
+        long max;
+        int blockCount;
+        long[] times;
+        long[] starts;
+        List<Map.Entry<String, Postings.View>> users;
+        LongMultiMap.Snapshot tokens;
+        LongMultiMap.Snapshot evidence;
+        lock.readLock().lock();
+        try {
+            position = lastPosition;
+            epochNanos = lastEpochNanos;
+            recordCount = records;
+            max = maxTime;
+            blockCount = blocks;
+            times = blockTimes;
+            starts = blockStarts;
+            users = new ArrayList<>(byUser.size());
+            for (Map.Entry<String, Postings> entry : byUser.entrySet()) {
+                users.add(Map.entry(entry.getKey(), entry.getValue().view()));
+            }
+            tokens = byToken.snapshot();
+            evidence = byEvidence.snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path tmp = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 20))) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeLong(position);
+            out.writeLong(epochNanos);
+            out.writeLong(recordCount);
+            out.writeLong(max);
+            out.writeInt(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                out.writeLong(times[i]);
+                out.writeLong(starts[i]);
+            }
+            out.writeInt(users.size());
+            for (Map.Entry<String, Postings.View> entry : users) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(name.length);
+                out.write(name);
+                entry.getValue().writeTo(out);
+            }
+            tokens.writeTo(out);
+            evidence.writeTo(out);
+            out.writeInt(CHECKPOINT_MAGIC);
+        }
+        Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Loads the checkpoint into this (still unattached) index; false if there is none or it is unreadable.
+    private boolean restore() {
+        if (!Files.isRegularFile(checkpointFile)) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile), 1 << 20))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) throw new IOException("Not an audit index checkpoint");
+            lastPosition = in.readLong();
+            lastEpochNanos = in.readLong();
+            records = in.readLong();
+            maxTime = in.readLong();
+            blocks = in.readInt();
+            blockTimes = new long[Math.max(64, blocks)];
+            blockStarts = new long[blockTimes.length];
+            for (int i = 0; i < blocks; i++) {
+                blockTimes[i] = in.readLong();
+                blockStarts[i] = in.readLong();
+            }
+            int users = in.readInt();
+            for (int i = 0; i < users; i++) {
+                byte[] name = new byte[in.readInt()];
+                in.readFully(name);
+                byUser.put(new String(name, StandardCharsets.UTF_8), Postings.readFrom(in));
+            }
+            byToken = LongMultiMap.readFrom(in);
+            byEvidence = LongMultiMap.readFrom(in);
+            if (in.readInt() != CHECKPOINT_MAGIC) throw new IOException("Truncated audit index checkpoint");
+            return lastPosition >= 0;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Ignoring unreadable audit index checkpoint; rebuilding from the journal.", e);
+            return false;
+        }
+    }
+
+    // The checkpoint only applies if the record it ends on is still where it was.
+    private boolean resumesAt(AuditJournalReader reader) throws IOException {
+        boolean[] matches = {false};
+        reader.scanFrom(lastPosition, record -> {
+            matches[0] = record.position() == lastPosition && record.epochNanos() == lastEpochNanos;
+            return false;
+        });
+        return matches[0];
+    }
+
+    // Indexes the records after the restored position, or the whole journal for a fresh index.
+    private void catchUp() throws IOException {
+        if (lastPosition < 0) {
+            reader.scan(this::index);
+            return;
+        }
+        long resume = lastPosition;
+        reader.scanFrom(resume, record -> {
+            if (record.position() != resume) index(record);
+            return true;
+        });
+    }
+
+    private void index(AuditRecord record) {
+        appended(record.position(), record.type(), record.epochNanos(), record.username(), record.token(),
+                record.evidenceId());
+    }
+
+    @Override
+    public void appended(long position, AuditRecord.Type type, long epochNanos,
+                         String username, String token, String evidenceId) {
+        lock.writeLock().lock();
+        try {
+            long t = maxTime = Math.max(maxTime, epochNanos);
+            lastPosition = position;
+            lastEpochNanos = epochNanos;
+            if (records++ % TIME_BLOCK == 0) {
+                if (blocks == blockTimes.length) {
+                    blockTimes = Arrays.copyOf(blockTimes, blocks * 2);
+                    blockStarts = Arrays.copyOf(blockStarts, blocks * 2);
+                }
+                blockTimes[blocks] = t;
+                blockStarts[blocks++] = position;
+            }
+            if (username != null) byUser.computeIfAbsent(username, u -> new Postings()).add(position, t);
+            if (token != null) byToken.put(LongMultiMap.hash(token), position);
+            if (evidenceId != null) byEvidence.put(LongMultiMap.hash(evidenceId), position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<AuditRecord> loginsFor(String username, long fromNanos, long toNanos) throws IOException {
+        long[] positions;
+        lock.readLock().lock();
+        try {
+            Postings postings = byUser.get(username);
+            if (postings == null) return List.of();
+            positions = postings.range(fromNanos, withSlack(toNanos));
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<AuditRecord> result = new ArrayList<>();
+        for (long position : positions) {
+            AuditRecord record = reader.read(position);
+            if (record.type() == AuditRecord.Type.LOGIN && username.equals(record.username())
+                    && record.epochNanos() >= fromNanos && record.epochNanos() <= toNanos) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    public List<AuditRecord> byToken(String token) throws IOException {
+        List<AuditRecord> result = new ArrayList<>();
+        for (long position : lookup(byToken, token)) {
+            AuditRecord record = reader.read(position);
+            if (token.equals(record.token())) result.add(record);
+        }
+        return result;
+    }
+
+    public List<AuditRecord> custodyNotes(String evidenceId) throws IOException {
+        List<AuditRecord> result = new ArrayList<>();
+        for (long position : lookup(byEvidence, evidenceId)) {
+            AuditRecord record = reader.read(position);
+            if (evidenceId.equals(record.evidenceId())) result.add(record);
+        }
+        result.sort((a, b) -> Long.compare(a.position(), b.position()));
+        return result;
+    }
+
+    // Streams every record with fromNanos <= time <= toNanos in journal order.
+    public void between(long fromNanos, long toNanos, Consumer<AuditRecord> visitor) throws IOException {
+        long start;
+        lock.readLock().lock();
+        try {
+            if (blocks == 0) return;
+            int block = lastBlockAtOrBefore(fromNanos);
+            start = blockStarts[block];
+        } finally {
+            lock.readLock().unlock();
+        }
+        long[] seen = {Long.MIN_VALUE};
+        reader.scanFrom(start, record -> {
+            seen[0] = Math.max(seen[0], record.epochNanos());
+            if (seen[0] > withSlack(toNanos)) return false;
+            if (record.epochNanos() >= fromNanos && record.epochNanos() <= toNanos) visitor.accept(record);
+            return true;
+        });
+    }
+
+    public long recordCount() {
+        lock.readLock().lock();
+        try {
+            return records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Usage: AuditIndex user <username> [days] | token <token> | evidence <id> | since <minutes>
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: AuditIndex user <username> [days] | token <token> | evidence <id> | since <minutes>");
+            return;
+        }
+        try (AuditJournal journal = AuditJournal.fromConfig()) {
+            AuditIndex index = attach(journal);
+            index.checkpoint();
+            long now = AuditClock.nowEpochNanos();
+            switch (args[0]) {
+                case "user" -> {
+                    long days = args.length > 2 ? Long.parseLong(args[2]) : 7;
+                    index.loginsFor(args[1], now - days * 86_400_000_000_000L, now)
+                            .forEach(r -> System.out.print(r.toText()));
+                }
+                case "token" -> index.byToken(args[1]).forEach(r -> System.out.print(r.toText()));
+                case "evidence" -> index.custodyNotes(args[1]).forEach(r -> System.out.print(r.toText()));
+                case "since" -> index.between(now - Long.parseLong(args[1]) * 60_000_000_000L, now,
+                        r -> System.out.print(r.toText()));
+                default -> System.out.println("Unknown query: " + args[0]);
+            }
+        }
+    }
+
+    private static long withSlack(long nanos) {
+        return nanos > Long.MAX_VALUE - ORDER_SLACK_NANOS ? Long.MAX_VALUE : nanos + ORDER_SLACK_NANOS;
+    }
+
+    private int lastBlockAtOrBefore(long nanos) {
+        int lo = 0;
+        int hi = blocks - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (blockTimes[mid] < nanos) lo = mid; else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private long[] lookup(LongMultiMap map, String key) {
+        long[] buffer = new long[4];
+        int[] count = {0};
+        lock.readLock().lock();
+        try {
+            long[][] holder = {buffer};
+            map.forEach(LongMultiMap.hash(key), position -> {
+                if (count[0] == holder[0].length) holder[0] = Arrays.copyOf(holder[0], count[0] * 2);
+                holder[0][count[0]++] = position;
+            });
+            buffer = holder[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.copyOf(buffer, count[0]);
+    }
+
+    // Per-user positions with their (monotonic) index times, in append order.
+    private static final class Postings {
+        private long[] positions = new long[8];
+        private long[] times = new long[8];
+        private int size;
+
+        void add(long position, long time) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+            }
+            positions[size] = position;
+            times[size++] = time;
+        }
+
+        View view() {
+            return new View(positions, times, size);
+        }
+
+        // The first size entries of the arrays at capture time; appends never rewrite them.
+        record View(long[] positions, long[] times, int size) {
+
+            void writeTo(DataOutputStream out) throws IOException {
+                out.writeInt(size);
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(positions[i]);
+                    out.writeLong(times[i]);
+                }
+            }
+        }
+
+        static Postings readFrom(DataInputStream in) throws IOException {
+            Postings postings = new Postings();
+            int size = in.readInt();
+            if (size < 0) throw new IOException("Corrupt posting list");
+            postings.positions = new long[Math.max(8, size)];
+            postings.times = new long[postings.positions.length];
+            for (int i = 0; i < size; i++) {
+                postings.positions[i] = in.readLong();
+                postings.times[i] = in.readLong();
+            }
+            postings.size = size;
+            return postings;
+        }
+
+        long[] range(long from, long to) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (times[mid] < from) lo = mid + 1; else hi = mid;
+            }
+            int end = lo;
+            while (end < size && times[end] <= to) end++;
+            return Arrays.copyOfRange(positions, lo, end);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * AuditJournal.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary audit journal written into memory-mapped segment files
+ * (audit-000000.journal, audit-000001.journal, ...). Each record is
+ *
+ * <pre>
+ *   int   length      total record bytes; 0 marks the end of a segment
+ *   byte  type        {@link AuditRecord.Type} code
+ *   byte  outcome     1 = success (LOGIN only)
+ *   long  epochNanos
+ *   then u16-length-prefixed UTF-8 fields:
+ *     LOGIN: username, role, token   EVIDENCE: username, evidenceId, note   TEXT: text
+ * </pre>
+ *
+ * The length is written last, so a record torn by a crash reads as end-of-segment.
+ * Encoding writes straight into the mapping; the hot path allocates nothing.
+ */
+public class AuditJournal implements AuditSink {
+
+    /** Notified under the journal lock after each record is published. */
+    public interface AppendListener {
+        void appended(long position, AuditRecord.Type type, long epochNanos,
+                      String username, String token, String evidenceId);
+    }
+
+    private static final Logger logger = Logger.getLogger(AuditJournal.class.getName());
+
+    static final int HEADER_BYTES = 4 + 1 + 1 + 8;
+    static final int MAX_FIELD_BYTES = 0xFFFF;
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private int segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int writePos;
+    private boolean closed;
+    private AppendListener listener;
+
+    public AuditJournal(Path dir, int segmentBytes) throws IOException {
+        if (segmentBytes < 1 << 20) throw new IllegalArgumentException("Segments must be at least 1 MiB.");
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(dir);
+
+        List<Path> existing = segments(dir);
+        if (existing.isEmpty()) {
+            openSegment(0);
+        } else {
+            openSegment(segmentIndex(existing.get(existing.size() - 1)));
+            writePos = endOfRecords(segment);
+            clearTail(segment, writePos);
+        }
+    }
+
+    public static AuditJournal fromConfig() throws IOException {
+        return new AuditJournal(Path.of(AuthConfig.getString("audit.journal.dir", "audit_journal")),
+                AuthConfig.getInt("audit.journal.segment.mb", 64) << 20);
+    }
+
+    @Override
+    public synchronized void append(String entry) {
+        int len = HEADER_BYTES + fieldBytes(entry);
+        int pos = reserve(len);
+        if (pos < 0) return;
+        long now = AuditClock.nowEpochNanos();
+        putHeader(pos, AuditRecord.Type.TEXT, false, now);
+        putField(pos + HEADER_BYTES, entry);
+        segment.putInt(pos, len);
+        if (listener != null) listener.appended(position(pos), AuditRecord.Type.TEXT, now, null, null, null);
+    }
+
+    @Override
+    public synchronized void login(long epochNanos, String username, String role, boolean success, String token) {
+        int len = HEADER_BYTES + fieldBytes(username) + fieldBytes(role) + fieldBytes(token);
+        int pos = reserve(len);
+        if (pos < 0) return;
+        putHeader(pos, AuditRecord.Type.LOGIN, success, epochNanos);
+        int p = putField(pos + HEADER_BYTES, username);
+        p = putField(p, role);
+        putField(p, token);
+        segment.putInt(pos, len);
+        if (listener != null) listener.appended(position(pos), AuditRecord.Type.LOGIN, epochNanos, username, token, null);
+    }
+
+    @Override
+    public synchronized void evidence(long epochNanos, String username, String evidenceId, String note) {
+        int len = HEADER_BYTES + fieldBytes(username) + fieldBytes(evidenceId) + fieldBytes(note);
+        int pos = reserve(len);
+        if (pos < 0) return;
+        putHeader(pos, AuditRecord.Type.EVIDENCE, true, epochNanos);
+        int p = putField(pos + HEADER_BYTES, username);
+        p = putField(p, evidenceId);
+        putField(p, note);
+        segment.putInt(pos, len);
+        if (listener != null) {
+            listener.appended(position(pos), AuditRecord.Type.EVIDENCE, epochNanos, username, null, evidenceId);
+        }
+    }
+
+    public Path dir() {
+        return dir;
+    }
+
+    public synchronized void setListener(AppendListener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void flush() {
+        if (!closed) segment.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        segment.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close audit journal segment.", e);
+        }
+    }
+
+    // Returns the offset for a record of len bytes, rolling to a new segment when needed.
+    private int reserve(int len) {
+        if (closed) {
+            logger.log(Level.WARNING, "Audit journal closed; dropping entry.");
+            return -1;
+        }
+        if (writePos + len + 4 > segmentBytes) {
+            try {
+                segment.force();
+                channel.close();
+                openSegment(segmentIndex + 1);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to roll audit journal segment.", e);
+                closed = true;
+                return -1;
+            }
+        }
+        int pos = writePos;
+        writePos += len;
+        return pos;
+    }
+
+    private long position(int offset) {
+        return ((long) segmentIndex << 32) | offset;
+    }
+
+    private void openSegment(int index) throws IOException {
+        segmentIndex = index;
+        channel = FileChannel.open(segmentPath(dir, index), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        writePos = 0;
+    }
+
+    private void putHeader(int pos, AuditRecord.Type type, boolean success, long epochNanos) {
+        segment.put(pos + 4, type.code);
+        segment.put(pos + 5, (byte) (success ? 1 : 0));
+        segment.putLong(pos + 6, epochNanos);
+    }
+
+    private static int fieldBytes(String s) {
+        return 2 + utf8Length(s);
+    }
+
+    static int utf8Length(String s) {
+        return Utf8.length(s, MAX_FIELD_BYTES);
+    }
+
+    private int putField(int pos, String s) {
+        int len = utf8Length(s);
+        segment.putShort(pos, (short) len);
+        return Utf8.encode(s, len, segment, pos + 2);
+    }
+
+    static int endOfRecords(ByteBuffer buffer) {
+        int pos = 0;
+        while (pos + 4 <= buffer.limit()) {
+            int len = buffer.getInt(pos);
+            if (len < HEADER_BYTES || pos + len > buffer.limit()) break;
+            pos += len;
+        }
+        return pos;
+    }
+
+    // A record torn by a crash leaves body bytes past the end of the valid records. A shorter
+    // record written over them later could be followed by leftovers that decode as a record,
+    // so they are zeroed before appending resumes. Untouched (sparse) pages are only read.
+    static void clearTail(MappedByteBuffer buffer, int from) {
+        int pos = from;
+        boolean dirty = false;
+        for (; pos < buffer.limit() && (pos & 7) != 0; pos++) {
+            if (buffer.get(pos) != 0) {
+                buffer.put(pos, (byte) 0);
+                dirty = true;
+            }
+        }
+        for (; pos + 8 <= buffer.limit(); pos += 8) {
+            if (buffer.getLong(pos) != 0) {
+                buffer.putLong(pos, 0);
+                dirty = true;
+            }
+        }
+        for (; pos < buffer.limit(); pos++) {
+            if (buffer.get(pos) != 0) {
+                buffer.put(pos, (byte) 0);
+                dirty = true;
+            }
+        }
+        if (dirty) buffer.force();
+    }
+
+    static Path segmentPath(Path dir, int index) {
+        return dir.resolve(SEGMENT_PREFIX + String.format("%06d", index) + SEGMENT_SUFFIX);
+    }
+
+    static int segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static List<Path> segments(Path dir) throws IOException {
+        List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return result;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().forEach(result::add);
+        }
+        return result;
+    }
+}
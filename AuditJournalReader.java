@@ -0,0 +1,119 @@
+/*
+ * AuditJournalReader.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Decodes an {@link AuditJournal} directory back into {@link AuditRecord}s.
+ * Run directly to print the journal in the audit_log.txt text format.
+ */
+public class AuditJournalReader {
+
+    private final Path dir;
+    private final Map<Integer, MappedByteBuffer> mapped = new ConcurrentHashMap<>();
+
+    public AuditJournalReader(Path dir) {
+        this.dir = dir;
+    }
+
+    public void scan(Consumer<AuditRecord> visitor) throws IOException {
+        List<Path> segments = AuditJournal.segments(dir);
+        if (segments.isEmpty()) return;
+        scanFrom((long) AuditJournal.segmentIndex(segments.get(0)) << 32, record -> {
+            visitor.accept(record);
+            return true;
+        });
+    }
+
+    // Visits records from position onwards, across segments, until the visitor returns false.
+    public void scanFrom(long position, Predicate<AuditRecord> visitor) throws IOException {
+        int index = (int) (position >>> 32);
+        int pos = (int) position;
+        MappedByteBuffer buffer;
+        while ((buffer = segment(index)) != null) {
+            while (pos + 4 <= buffer.limit()) {
+                int len = buffer.getInt(pos);
+                if (len < AuditJournal.HEADER_BYTES || pos + len > buffer.limit()) break;
+                if (!visitor.test(decode(buffer, ((long) index << 32) | pos))) return;
+                pos += len;
+            }
+            index++;
+            pos = 0;
+        }
+    }
+
+    public AuditRecord read(long position) throws IOException {
+        MappedByteBuffer buffer = segment((int) (position >>> 32));
+        if (buffer == null) throw new IOException("No journal segment for position " + Long.toHexString(position));
+        return decode(buffer, position);
+    }
+
+    // Read-only mappings are cached; the writer's pages show through the shared page cache.
+    private MappedByteBuffer segment(int index) throws IOException {
+        MappedByteBuffer buffer = mapped.get(index);
+        if (buffer != null) return buffer;
+        Path path = AuditJournal.segmentPath(dir, index);
+        if (!Files.isRegularFile(path)) return null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        MappedByteBuffer existing = mapped.putIfAbsent(index, buffer);
+        return existing != null ? existing : buffer;
+    }
+
+    static AuditRecord decode(MappedByteBuffer buffer, long position) {
+        int pos = (int) (position & 0xFFFFFFFFL);
+        AuditRecord.Type type = AuditRecord.Type.of(buffer.get(pos + 4));
+        boolean success = buffer.get(pos + 5) == 1;
+        long epochNanos = buffer.getLong(pos + 6);
+
+        int p = pos + AuditJournal.HEADER_BYTES;
+        String first = readField(buffer, p);
+        p += 2 + fieldLength(buffer, p);
+        if (type == AuditRecord.Type.TEXT) {
+            return new AuditRecord(position, type, epochNanos, success, null, null, null, null, null, first);
+        }
+        String second = readField(buffer, p);
+        p += 2 + fieldLength(buffer, p);
+        String third = readField(buffer, p);
+        return type == AuditRecord.Type.LOGIN
+                ? new AuditRecord(position, type, epochNanos, success, first, second, third, null, null, null)
+                : new AuditRecord(position, type, epochNanos, success, first, null, null, second, third, null);
+    }
+
+    private static int fieldLength(MappedByteBuffer buffer, int pos) {
+        return Short.toUnsignedInt(buffer.getShort(pos));
+    }
+
+    private static String readField(MappedByteBuffer buffer, int pos) {
+        byte[] bytes = new byte[fieldLength(buffer, pos)];
+        buffer.get(pos + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Path.of(args.length > 0 ? args[0] : AuthConfig.getString("audit.journal.dir", "audit_journal"));
+        PrintStream out = System.out;
+        new AuditJournalReader(dir).scan(record -> out.print(record.toText()));
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * AuditRecord.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+/**
+ * One decoded audit journal entry. {@code position} packs the segment index (high 32 bits)
+ * and the byte offset within that segment (low 32 bits). Fields a type does not use are null.
+ */
+public record AuditRecord(long position, Type type, long epochNanos, boolean success,
+                          String username, String role, String token,
+                          String evidenceId, String note, String text) {
+
+    public enum Type {
+        LOGIN(1), EVIDENCE(2), TEXT(3);
+
+        final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        static Type of(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) return type;
+            }
+            throw new IllegalArgumentException("Unknown audit record type: " + code);
+        }
+    }
+
+    public String toText() {
+        return switch (type) {
+            case LOGIN -> AuditFormat.login(epochNanos, username, role, success, token);
+            case EVIDENCE -> AuditFormat.evidence(evidenceId, note);
+            case TEXT -> text;
+        };
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * AuditSink.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+/**
+ * Destination for audit and evidence entries. Implementations must accept
+ * appends from many threads; {@link #close()} flushes anything still pending.
+ * Text sinks take the default formatting; structured sinks override the event methods.
+ */
+public interface AuditSink extends AutoCloseable {
+
+    void append(String entry);
+
+    default void login(long epochNanos, String username, String role, boolean success, String token) {
+        append(AuditFormat.login(epochNanos, username, role, success, token));
+    }
+
+    default void evidence(long epochNanos, String username, String evidenceId, String note) {
+        append(AuditFormat.evidence(evidenceId, note));
+    }
+
+    @Override
+    void close();
+}
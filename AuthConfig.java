@@ -0,0 +1,64 @@
+/*
+ * AuthConfig.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Framework settings loaded from auth.properties (or the file named by -Dauth.config).
+ * JVM system properties override file values; missing keys fall back to the caller's default.
+ */
+public final class AuthConfig {
+
+    private static final Logger logger = Logger.getLogger(AuthConfig.class.getName());
+    private static final Properties FILE = load(System.getProperty("auth.config", "auth.properties"));
+
+    private AuthConfig() {
+    }
+
+    private static Properties load(String path) {
+        Properties props = new Properties();
+        if (!Files.isRegularFile(Path.of(path))) return props;
+        try (InputStream in = new FileInputStream(path)) {
+            props.load(in);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to read config file {0}; using defaults.", path);
+        }
+        return props;
+    }
+
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) value = FILE.getProperty(key);
+        return value == null ? defaultValue : value.trim();
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.log(Level.WARNING, "Invalid number for {0}: {1}", new Object[]{key, value});
+            return defaultValue;
+        }
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+}
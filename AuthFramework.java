@@ -10,171 +10,389 @@
  */
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 import java.io.*;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.Path;
 
 public class AuthFramework {
-    private static final Map<String, byte[]> USER_DB = new HashMap<>();
-    private static final Map<String, String> USER_ROLES = new HashMap<>();
-    private static final int MAX_ATTEMPTS = 3;
-    private static final long LOCKOUT_DURATION_MS = 30_000;
+    private static final RoleRegistry ROLES = RoleRegistry.fromConfig();
+    private static final CredentialStore USER_STORE = CredentialStores.open(ROLES);
+    private static final AuthorizationEngine AUTHZ = AuthorizationEngine.fromConfig(ROLES);
+    private static final int EVIDENCE_TAG = AUTHZ.intern("evidence.tag");
+    private static final LoginThrottle THROTTLE = LoginThrottle.fromConfig();
+    private static final String CONSOLE_SOURCE = "console";
+    private static final SessionRegistry SESSIONS = SessionRegistry.fromConfig();
+    private static final TokenGenerator TOKENS = TokenGenerator.fromConfig();
+    private static final SignedTokens SIGNED_TOKENS =
+            "signed".equals(AuthConfig.getString("token.format", "opaque")) ? SignedTokens.fromConfig(TOKENS) : null;
     private static final String LOG_FILE = "audit_log.txt";
+    private static final AuditSink AUDIT = openAuditSink();
+    private static final AuditIndex AUDIT_INDEX = openAuditIndex();
+    private static final MfaOrchestrator MFA = MfaOrchestrator.fromConfig(TOKENS);
+    private static final int DEFAULT_SERVER_PORT = 7070;
+
+    private static final HashingService HASHING = HashingService.fromConfig();
+    // Verified in place of a real record for unknown names; nothing can match it.
+    private static final CredentialHash DECOY = HASHING.hash(TOKENS.next()).join();
+
+    enum PinOutcome { ACCEPTED, INCORRECT, LOCKED_OUT, LOCKED, THROTTLED, UNAVAILABLE }
 
     static {
-        USER_DB.put("admin", hash("4269"));
-        USER_ROLES.put("admin", "Admin");
+        Runtime.getRuntime().addShutdownHook(new Thread(AUDIT::close, "audit-shutdown"));
+
+        // Seeded with legacy SHA-256 hashes; each is upgraded to the current policy on first login.
+        PasswordHasher legacy = new Sha256Hasher();
+        seedUser("admin", legacy.hash("4269"), "Admin");
+        seedUser("analyst", legacy.hash("3141"), "Analyst");
+        seedUser("guest", legacy.hash("1234"), "Guest");
 
-        USER_DB.put("analyst", hash("3141"));
-        USER_ROLES.put("analyst", "Analyst");
+        AUTHZ.setPrimaryRoleLookup(username -> {
+            UserRecord user = USER_STORE.find(username);
+            return user == null ? RoleRegistry.UNKNOWN : user.roleId();
+        });
+        importUsers(AuthConfig.getString("users.import", ""));
+    }
+
+    // The primary role drives routing; user.<name>.roles may grant further roles for authorization.
+    private static void seedUser(String username, CredentialHash credential, String role) {
+        int primary = ROLES.idOf(role);
+        // A recovered record may already carry an upgraded hash; the seed only fills gaps.
+        if (USER_STORE.find(username) == null) USER_STORE.put(username, UserRecord.of(credential, primary));
+        List<Integer> roleIds = new ArrayList<>(List.of(primary));
+        for (String extra : AuthConfig.getString("user." + username + ".roles", "").split(",")) {
+            int id = ROLES.idOf(extra.trim());
+            if (id != RoleRegistry.UNKNOWN && !roleIds.contains(id)) roleIds.add(id);
+        }
+        if (roleIds.size() > 1) AUTHZ.assignRoles(username, roleIds.stream().mapToInt(Integer::intValue).toArray());
+    }
 
-        USER_DB.put("guest", hash("1234"));
-        USER_ROLES.put("guest", "Guest");
+    // users.import lists CSV/JSONL exports (comma-separated) streamed into the store at startup.
+    private static void importUsers(String files) {
+        if (files.isEmpty()) return;
+        UserImporter importer = UserImporter.fromConfig(USER_STORE, ROLES, AUTHZ);
+        for (String name : files.split(",")) {
+            Path file = Path.of(name.trim());
+            try {
+                importer.importFile(file, UserImporter.formatOf(file), System.out);
+            } catch (IOException e) {
+                System.out.println("⚠️ Failed to import users from " + file + ": " + e.getMessage());
+            }
+        }
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SERVER_PORT;
+            try {
+                new LoginServer(port).run();
+            } catch (IOException e) {
+                System.out.println("⚠️ Failed to start login server: " + e.getMessage());
+            }
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
-        printBanner();
+        printBanner(System.out);
 
         System.out.print("Enter username: ");
         String username = scanner.nextLine();
 
-        if (!USER_DB.containsKey(username)) {
-            System.out.println("🚫 Unknown user.");
-            return;
-        }
-
+        // Unknown names get the same PIN prompt and cost; only a correct PIN reveals the account.
         if (!verifyPin(scanner, username)) return;
-        if (!simulateBiometricAPI(scanner)) return;
-        if (!simulateOTPService(scanner)) return;
+        UserRecord user = findUser(username);
+        if (user == null) return;
 
-        String role = USER_ROLES.get(username);
-        String token = UUID.randomUUID().toString();
-        logAudit(username, role, true, token);
+        String role = roleName(user);
+        if (!runMfa(scanner, username, role)) return;
 
-        System.out.println("✅ Access granted.");
-        System.out.println("Session Token: " + token);
-        System.out.println("Role: " + role);
+        grantAccess(username, role, System.out);
 
-        routeToModule(role, scanner);
+        if (routeToModule(user.roleId(), System.out)) simulateForensicSystem(scanner, username);
     }
 
-    private static void printBanner() {
-        System.out.println("===============================================");
-        System.out.println("  Enterprise Auth Framework by Devin B. Royal   ");
-        System.out.println("  © 2025 All rights reserved                    ");
-        System.out.println("  Forensic + SPA Toolkit Integration Ready      ");
-        System.out.println("===============================================\n");
+    static void printBanner(PrintStream out) {
+        out.println("===============================================");
+        out.println("  Enterprise Auth Framework by Devin B. Royal   ");
+        out.println("  © 2025 All rights reserved                    ");
+        out.println("  Forensic + SPA Toolkit Integration Ready      ");
+        out.println("===============================================\n");
     }
 
-    private static boolean verifyPin(Scanner scanner, String username) {
-        int attempts = 0;
-        long lockoutStart = 0;
+    static UserRecord findUser(String username) {
+        return USER_STORE.find(username);
+    }
+
+    // The live store, for tools in this package that load users in bulk (the benchmark fixture).
+    static CredentialStore userStore() {
+        return USER_STORE;
+    }
 
-        while (attempts < MAX_ATTEMPTS) {
-            if (lockoutStart > 0 && System.currentTimeMillis() - lockoutStart < LOCKOUT_DURATION_MS) {
-                System.out.println("⏳ Account locked. Try again later.");
+    private static boolean verifyPin(Scanner scanner, String username) {
+        while (true) {
+            PinOutcome blocked = pinGate(username, CONSOLE_SOURCE);
+            if (blocked != null) {
+                printPinOutcome(blocked, username, System.out);
                 return false;
             }
 
             System.out.print("Enter PIN: ");
-            String input = scanner.nextLine();
+            PinOutcome outcome = checkPin(username, CONSOLE_SOURCE, scanner.nextLine()).join();
+            printPinOutcome(outcome, username, System.out);
+            if (outcome != PinOutcome.INCORRECT) return outcome == PinOutcome.ACCEPTED;
+        }
+    }
+
+    // Returns the blocking outcome if the account or source is currently throttled, else null.
+    static PinOutcome pinGate(String username, String source) {
+        return switch (THROTTLE.check(username, source)) {
+            case ACCOUNT_LOCKED -> PinOutcome.LOCKED;
+            case SOURCE_LIMITED -> PinOutcome.THROTTLED;
+            case ALLOWED -> null;
+        };
+    }
 
-            if (Arrays.equals(hash(input), USER_DB.get(username))) {
-                return true;
-            } else {
-                attempts++;
-                System.out.println("❌ Incorrect PIN. Attempts left: " + (MAX_ATTEMPTS - attempts));
+    // One PIN attempt; hashing runs on the HashingService pool, lockout state in LoginThrottle.
+    // Unknown names verify against DECOY and fail like a wrong PIN, so timing, prompts and
+    // lockout look the same whether or not the account exists.
+    static CompletableFuture<PinOutcome> checkPin(String username, String source, String input) {
+        UserRecord record = findUser(username);
+        PinOutcome blocked = pinGate(username, source);
+        if (blocked != null) return CompletableFuture.completedFuture(blocked);
+
+        CredentialHash credential = record != null ? record.credential() : DECOY;
+        CompletableFuture<Boolean> verified = HASHING.verify(input, credential);
+        // Records still on an older, cheaper hash also pay for the decoy until they are upgraded.
+        if (record != null && HASHING.needsUpgrade(credential)) {
+            verified = HASHING.verify(input, DECOY).thenCombine(verified, (ignored, matched) -> matched);
+        }
+        return verified.handle((matched, error) -> {
+            if (error != null) return PinOutcome.UNAVAILABLE;
+            if (matched && record != null) {
+                THROTTLE.recordSuccess(username);
+                upgradeCredential(username, input, record.credential());
+                return PinOutcome.ACCEPTED;
             }
+            return THROTTLE.recordFailure(username, source) == 0 ? PinOutcome.LOCKED_OUT : PinOutcome.INCORRECT;
+        });
+    }
 
-            if (attempts >= MAX_ATTEMPTS) {
-                lockoutStart = System.currentTimeMillis();
-                System.out.println("🚫 Too many failed attempts. Account locked for 30 seconds.");
-                return false;
+    // Rehashes with the current policy after a successful login if the stored parameters are outdated.
+    private static void upgradeCredential(String username, String pin, CredentialHash verified) {
+        if (!HASHING.needsUpgrade(verified)) return;
+        HASHING.hash(pin).thenAccept(upgraded -> {
+            while (true) {
+                UserRecord current = USER_STORE.find(username);
+                if (current == null || !current.credential().sameAs(verified)) return;
+                if (USER_STORE.replace(username, current, current.withCredential(upgraded))) return;
             }
+        });
+    }
+
+    static void printPinOutcome(PinOutcome outcome, String username, PrintStream out) {
+        switch (outcome) {
+            case ACCEPTED -> { }
+            case LOCKED -> out.println("⏳ Account locked. Try again later.");
+            case THROTTLED -> out.println("⏳ Too many failed attempts from your address. Try again later.");
+            case LOCKED_OUT -> out.println("🚫 Too many failed attempts. Account locked for "
+                    + THROTTLE.lockoutWindowMs() / 1000 + " seconds.");
+            case UNAVAILABLE -> out.println("⚠️ PIN verification is busy. Try again later.");
+            case INCORRECT -> out.println("❌ Incorrect PIN. Attempts left: " + THROTTLE.attemptsLeft(username));
+        }
+    }
+
+    private static boolean runMfa(Scanner scanner, String username, String role) {
+        MfaPolicy policy = mfaPolicyFor(role);
+        String sample = null;
+        if (policy.biometric()) {
+            System.out.print("Simulate biometric scan (type 'scan'): ");
+            sample = scanner.nextLine();
+        }
+
+        MfaResult result = startMfa(username, policy, sample, System.out).join();
+        if (!reportMfa(result, System.out)) return false;
+        if (!policy.otp()) return true;
+
+        while (true) {
+            System.out.print("Enter OTP: ");
+            OtpChallenges.Outcome outcome = checkOtp(username, result, scanner.nextLine());
+            reportOtp(outcome, result, System.out);
+            if (outcome != OtpChallenges.Outcome.INCORRECT) return outcome == OtpChallenges.Outcome.VERIFIED;
         }
-        return false;
     }
 
-    private static boolean simulateBiometricAPI(Scanner scanner) {
-        System.out.print("Simulate biometric scan (type 'scan'): ");
-        String input = scanner.nextLine();
-        System.out.println("🔄 Contacting biometric API...");
-        try { Thread.sleep(1500); } catch (InterruptedException e) {}
-        if (!input.equalsIgnoreCase("scan")) {
-            System.out.println("❌ Biometric scan failed.");
+    static MfaPolicy mfaPolicyFor(String role) {
+        return MFA.policyFor(role);
+    }
+
+    static CompletableFuture<MfaResult> startMfa(String username, MfaPolicy policy, String sample, PrintStream out) {
+        if (policy.biometric()) out.println("🔄 Contacting biometric API...");
+        if (policy.otp() && (policy.parallel() || !policy.biometric()) && !MFA.usesTotp(username)) {
+            out.println("📡 Sending OTP via secure channel...");
+        }
+        return MFA.begin(username, policy, sample);
+    }
+
+    // Prints the joined factor results; returns true when the login may continue.
+    static boolean reportMfa(MfaResult result, PrintStream out) {
+        MfaPolicy policy = result.policy();
+        if (policy.biometric() && !reportBiometric(result.biometricAccepted(), result.biometricError(), out)) {
             return false;
         }
-        System.out.println("✅ Biometric scan accepted.");
+        if (policy.otp() && result.totp()) {
+            out.println("🔐 Use the code from your authenticator app.");
+        } else if (policy.otp()) {
+            if (policy.biometric() && !policy.parallel()) out.println("📡 Sending OTP via secure channel...");
+            if (result.challengeId() == null) {
+                out.println("⚠️ OTP delivery failed. Try again later.");
+                return false;
+            }
+            out.println("Your OTP is: " + result.otp());
+        }
         return true;
     }
 
-    private static boolean simulateOTPService(Scanner scanner) {
-        String otp = String.valueOf(new Random().nextInt(900000) + 100000);
-        System.out.println("📡 Sending OTP via secure channel...");
-        try { Thread.sleep(1000); } catch (InterruptedException e) {}
-        System.out.println("Your OTP is: " + otp);
-        System.out.print("Enter OTP: ");
-        String input = scanner.nextLine();
-        if (!input.equals(otp)) {
-            System.out.println("❌ MFA failed.");
+    private static boolean reportBiometric(boolean accepted, Throwable error, PrintStream out) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            out.println(cause instanceof TimeoutException
+                    ? "⌛ Biometric API timed out."
+                    : "⚠️ Biometric API unavailable.");
+            return false;
+        }
+        if (!accepted) {
+            out.println("❌ Biometric scan failed.");
             return false;
         }
-        System.out.println("✅ MFA verified.");
+        out.println("✅ Biometric scan accepted.");
         return true;
     }
 
-    private static void routeToModule(String role, Scanner scanner) {
-        switch (role) {
-            case "Admin" -> {
-                System.out.println("🔧 Routing to Admin Control Panel...");
-                System.out.println("Simulated SPA endpoint: /admin/dashboard");
-            }
-            case "Analyst" -> {
-                System.out.println("🔍 Routing to Forensic Evidence Dashboard...");
-                simulateForensicSystem(scanner);
-            }
-            case "Guest" -> {
-                System.out.println("📄 Routing to Read-Only SPA Toolkit...");
-                System.out.println("Simulated SPA endpoint: /guest/view");
-            }
-            default -> System.out.println("⚠️ Unknown role.");
+    static String newOtp() {
+        return String.valueOf(TOKENS.nextInt(900000) + 100000);
+    }
+
+    static OtpChallenges.Outcome checkOtp(String username, MfaResult result, String input) {
+        return MFA.verifyOtp(username, result, input);
+    }
+
+    static void reportOtp(OtpChallenges.Outcome outcome, MfaResult result, PrintStream out) {
+        switch (outcome) {
+            case VERIFIED -> out.println("✅ MFA verified.");
+            case INCORRECT -> out.println("❌ Incorrect OTP. Attempts left: " + MFA.otpAttemptsLeft(result));
+            case EXPIRED -> out.println("⌛ OTP expired. ❌ MFA failed.");
+            case EXHAUSTED -> out.println("❌ MFA failed.");
+        }
+    }
+
+    static String grantAccess(String username, String role, PrintStream out) {
+        String token;
+        if (SIGNED_TOKENS != null) {
+            token = SIGNED_TOKENS.issue(username, role);
+        } else {
+            token = TOKENS.next();
+            SESSIONS.create(token, username, role);
         }
+        logAudit(username, role, true, token);
+
+        out.println("✅ Access granted.");
+        out.println("Session Token: " + token);
+        out.println("Role: " + role);
+        return token;
+    }
+
+    // Signed tokens are checked by MAC alone; opaque ones are looked up and have their expiry slid.
+    static SessionClaims validateSession(String token) {
+        if (SIGNED_TOKENS != null) return SIGNED_TOKENS.verify(token);
+        SessionRegistry.Session session = SESSIONS.validate(token);
+        return session == null ? null
+                : new SessionClaims(session.token(), session.username(), session.role(), session.expiresAtMs());
+    }
+
+    static boolean logout(String token) {
+        if (SIGNED_TOKENS != null) return SIGNED_TOKENS.revoke(token);
+        return SESSIONS.invalidate(token);
+    }
+
+    static String roleName(UserRecord user) {
+        String name = ROLES.nameOf(user.roleId());
+        return name == null ? "Unknown" : name;
+    }
+
+    static int roleId(String role) {
+        return ROLES.idOf(role);
+    }
+
+    // Array dispatch on the interned role id; returns true when the module needs the forensic evidence prompts.
+    static boolean routeToModule(int roleId, PrintStream out) {
+        return ROLES.route(roleId, out);
     }
 
-    private static void simulateForensicSystem(Scanner scanner) {
-        System.out.println("\n🧪 Forensic Evidence System");
+    private static void simulateForensicSystem(Scanner scanner, String username) {
         System.out.print("Enter evidence ID to tag: ");
         String evidenceId = scanner.nextLine();
         System.out.print("Enter chain-of-custody note: ");
         String note = scanner.nextLine();
-        System.out.println("✅ Evidence tagged and logged.");
-        logToFile("Evidence ID: " + evidenceId + ", Note: " + note);
+        tagEvidence(username, evidenceId, note, System.out);
+    }
+
+    static void tagEvidence(String username, String evidenceId, String note, PrintStream out) {
+        if (!AUTHZ.isAllowed(username, EVIDENCE_TAG)) {
+            out.println("🚫 Not authorized to tag evidence.");
+            return;
+        }
+        out.println("✅ Evidence tagged and logged.");
+        AUDIT.evidence(AuditClock.nowEpochNanos(), username, evidenceId, note);
+        if (AUDIT_INDEX != null) printCustodyHistory(evidenceId, out);
+    }
+
+    private static void printCustodyHistory(String evidenceId, PrintStream out) {
+        try {
+            List<AuditRecord> notes = AUDIT_INDEX.custodyNotes(evidenceId);
+            out.println("📚 Chain of custody for " + evidenceId + " (" + notes.size() + " entries):");
+            for (AuditRecord record : notes) {
+                out.println("  " + new Date(record.epochNanos() / 1_000_000L) + " | " + record.username() + " | " + record.note());
+            }
+        } catch (IOException e) {
+            out.println("⚠️ Failed to read custody history.");
+        }
     }
 
     private static void logAudit(String username, String role, boolean success, String token) {
-        String status = success ? "SUCCESS" : "FAILURE";
-        String timestamp = new Date().toString();
-        String log = String.format("[AUDIT] %s login for '%s' (%s) at %s | Token: %s%n",
-                status, username, role, timestamp, token);
-        System.out.print(log);
-        logToFile(log);
+        long now = AuditClock.nowEpochNanos();
+        System.out.print(AuditFormat.login(now, username, role, success, token));
+        AUDIT.login(now, username, role, success, token);
     }
 
-    private static void logToFile(String entry) {
-        try (FileWriter fw = new FileWriter(LOG_FILE, true)) {
-            fw.write(entry);
+    private static AuditIndex openAuditIndex() {
+        if (!(AUDIT instanceof AuditJournal journal)) return null;
+        try {
+            AuditIndex index = AuditIndex.attach(journal);
+            index.checkpointEvery(AuthConfig.getLong("audit.index.checkpoint.ms", 10 * 60_000));
+            Runtime.getRuntime().addShutdownHook(new Thread(index::checkpointQuietly, "audit-index-shutdown"));
+            return index;
         } catch (IOException e) {
-            System.out.println("⚠️ Failed to write to log file.");
+            System.out.println("⚠️ Failed to index audit journal; forensic queries disabled.");
+            return null;
         }
     }
 
-    private static byte[] hash(String input) {
+    private static AuditSink openAuditSink() {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            return digest.digest(input.getBytes());
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 not available");
+            if (AuthConfig.getString("audit.sink", "text").equals("journal")) return AuditJournal.fromConfig();
+            return AsyncAuditAppender.fromConfig(LOG_FILE);
+        } catch (IOException e) {
+            System.out.println("⚠️ Failed to open log file; audit entries will be discarded.");
+            return new AuditSink() {
+                @Override
+                public void append(String entry) {
+                }
+
+                @Override
+                public void close() {
+                }
+            };
         }
     }
 }
@@ -187,21 +405,58 @@ public class AuthFramework {
  * 🔐 Authentication & Security Modules
  *
  * ✅ Secure Login
- * - Verifies users using SHA-256 hashed PINs
+ * - Verifies users using salted PBKDF2-HMAC-SHA256 hashed PINs (legacy SHA-256 still accepted)
+ * - Hashing runs on a bounded worker pool (hash.pool.threads, hash.pool.queue)
+ * - Work factor per record; outdated hashes are upgraded on the next successful login
  * - Enforces rate limiting (max 3 attempts)
  * - Implements lockout logic (30-second cooldown after failure)
+ * - Lockout and per-source rate limits are shared across sessions (LoginThrottle):
+ *   lock-free sliding-window counters with idle-key expiry and a key cap
+ *   (lockout.max.attempts, lockout.window.ms, ratelimit.source.*, throttle.max.keys)
+ * - Keeps hash and role in one record per user (CredentialStore)
+ * - UserImporter streams CSV/JSONL exports with pre-hashed credentials into the store in
+ *   parallel chunks with progress output (users.import, import.threads, import.chunk.lines)
+ * - Lock-free in-memory store supports adding users while logins are in flight
+ * - store.dir makes it durable (PersistentCredentialStore): changes go to a CRC-checked
+ *   write-ahead log and periodic binary snapshots (store.snapshot.interval.ms); startup maps
+ *   the newest snapshot and replays only the log tail (store.wal.durability = buffered|fsync);
+ *   a store.dir that cannot be opened stops startup unless store.allow.ephemeral=true
+ * - store.backend=offheap keeps records in fixed 96-byte slots of segmented direct buffers
+ *   (OffHeapCredentialStore) instead of heap objects, for user bases in the tens of millions
+ * - A bloom filter of known usernames answers unknown-user lookups without touching the store
+ *   (BloomFilteredCredentialStore, store.bloom.bytes.per.million; 0 disables it)
+ * - Unknown usernames are not rejected up front: they get the PIN prompt and a verify against
+ *   a decoy hash, so response time does not reveal which accounts exist
+ *   (LoginTimingBenchmark reports the known/unknown timing distributions)
  *
  * ✅ Biometric Simulation
  * - Mimics fingerprint or facial scan via a keyword prompt ("scan")
  * - Simulates API delay to resemble real biometric verification
+ * - Asynchronous BiometricProvider with configurable latency range and timeout
+ *   (biometric.latency.min.ms, biometric.latency.max.ms, biometric.timeout.ms)
  *
  * ✅ Multi-Factor Authentication (MFA)
- * - Generates a random 6-digit OTP
+ * - Generates a random 6-digit OTP, or checks an RFC 6238 TOTP code for users enrolled
+ *   with an authenticator app (TotpEngine, totp.secret.<user> in base32)
  * - Simulates delivery delay and requires correct entry
+ * - OtpDelivery batches outbound codes to an OtpChannel (per otp.delivery.linger.ms or
+ *   otp.delivery.batch.size), bounds in-flight codes and retries with jittered backoff;
+ *   StubOtpChannel simulates the provider (otp.delivery.delay.ms, otp.stub.file)
+ * - Pending codes live in OtpChallenges (hashed, limited attempts, timer-wheel expiry);
+ *   otp.challenge.ttl.ms, otp.challenge.max.attempts
+ * - MfaOrchestrator sends the OTP while the biometric check is in flight
+ * - Per-role factors and concurrency (mfa.<Role>.factors, mfa.<Role>.parallel)
  * - Adds a second layer of security before granting access
  *
  * ✅ Session Management
- * - Generates a UUID session token upon successful login
+ * - Generates a random base64url session token upon successful login from per-thread
+ *   DRBGs (TokenGenerator, token.bits = 128|256); TokenBenchmark compares it with UUIDs
+ * - SessionRegistry stores token → (user, role, expiry) with sliding TTL, timer-wheel
+ *   expiry and LRU eviction at a hard cap (session.ttl.ms, session.max, session.tick.ms)
+ * - token.format=signed issues stateless HMAC-SHA256 tokens carrying user, role and expiry
+ *   (SignedTokens, key in token.hmac.key); logout revokes them via a rotating bloom filter
+ * - Server clients can send "VALIDATE <token>", "ROUTE <token>" or "LOGOUT <token>"
+ *   instead of a username to check, route or end a session
  * - Simulates session-based access control
  *
  * -------------------------------------------------------------------------------
@@ -214,6 +469,14 @@ public class AuthFramework {
  * Guest     | Read-Only SPA Toolkit (/guest/view)
  *
  * Each role is routed to a different module with simulated functionality.
+ * Roles are interned to int ids by RoleRegistry and routed by array index. New roles and
+ * modules are pure config: roles=..., role.<Role>.module=<name>,
+ * module.<name>.message / .endpoint / .evidence
+ * Authorization is separate from routing: AuthorizationEngine compiles each role's
+ * permissions (role.<Role>.permissions) to a long[] bitset, users may hold several roles
+ * (user.<name>.roles), and checks such as evidence.tag are a cached bitwise AND
+ * Roles form an inheritance DAG (role.<Role>.inherits; Admin inherits Guest by default)
+ * whose transitive closure RoleHierarchy precomputes and updates incrementally
  *
  * -------------------------------------------------------------------------------
  * 🧪 Forensic Evidence System Simulation
@@ -223,11 +486,17 @@ public class AuthFramework {
  *   - Add a chain-of-custody note
  *   - Simulates tagging and logging of forensic data
  * - Mimics integration with a forensic backend (e.g., evidence tracking, audit trails)
+ * - With the audit journal enabled, shows the chain of custody for the tagged evidence;
+ *   AuditIndex answers queries by user + time range, token, evidence ID and time range
  *
  * -------------------------------------------------------------------------------
  * 📦 Persistent Storage Simulation
  *
  * - Logs all login attempts and forensic actions to a local file (audit_log.txt)
+ * - Asynchronous appender with bounded queue, group commit and fsync/buffered modes
+ *   (audit.queue.capacity, audit.batch.size, audit.flush.interval.ms, audit.durability)
+ * - Optional binary journal (audit.sink=journal): fixed-layout records in rolling
+ *   memory-mapped segments; AuditJournalReader decodes it back to the text format
  * - Includes:
  *   - Username
  *   - Role
@@ -240,4 +509,23 @@ public class AuthFramework {
  *
  * - Simulates routing to SPA endpoints based on role
  * - Ready for real frontend integration via REST or WebSocket
+ *
+ * -------------------------------------------------------------------------------
+ * 🌐 Login Server Mode
+ *
+ * - Run with --server [port] (default 7070) to accept concurrent logins over TCP
+ * - One NIO selector thread drives every session; simulated API delays are timers,
+ *   so in-progress logins do not hold a thread each
+ *
+ * -------------------------------------------------------------------------------
+ * 📈 Build & Benchmarks
+ *
+ * - mvn package builds the framework (core/, compiled from these root sources) and the
+ *   JMH suite (benchmarks/)
+ * - java -jar benchmarks/target/benchmarks.jar sweeps thread counts (bench.threads) over
+ *   hashing, lookup, PIN verify, lockout, tokens, routing, authorization and audit logging
+ *   for each user-base size (bench.users) and store backend, writing jmh-t<n>.json per run
+ * - The standalone probes (DigestBenchmark, HashingBenchmark, TokenBenchmark,
+ *   LoginTimingBenchmark) are in benchmarks/ too and stay out of the framework jar:
+ *   java -cp benchmarks/target/benchmarks.jar TokenBenchmark
  */
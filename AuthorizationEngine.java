@@ -0,0 +1,235 @@
+/*
+ * AuthorizationEngine.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Permission checks as bit tests. Permission names are interned to bit indexes, each role
+ * compiles to a {@code long[]} bitset, and a user's effective set is the OR of their roles'
+ * sets. Effective sets are cached per user; a check is a map lookup plus one AND, with no
+ * allocation once the entry is cached.
+ *
+ * Assigning a user's roles replaces that user's entry. A user without an assignment gets an
+ * entry holding their primary role (or none), looked up once; {@link #refreshPrimaryRole}
+ * drops it when that role changes. Changing a role's permissions bumps a
+ * version, and every cached entry built under an older version is rebuilt on its next use.
+ * Roles are granted in config as role.<Role>.permissions=perm.a,perm.b; a role also holds
+ * everything granted to the roles it inherits through {@link RoleHierarchy}.
+ */
+public class AuthorizationEngine {
+
+    public static final int UNKNOWN = -1;
+
+    private record Effective(long version, long[] bits) {
+    }
+
+    // Replaced wholesale on assignment, so an in-flight rebuild can only cache into the old grant.
+    // A derived grant caches the primary role lookup and shares the per-role sets.
+    private static final class Grant {
+        final int[] roles;
+        final boolean derived;
+        volatile Effective cached;
+
+        Grant(int[] roles, boolean derived) {
+            this.roles = roles;
+            this.derived = derived;
+        }
+    }
+
+    private static final long[] NONE = new long[0];
+
+    private final Map<String, Integer> permissionIds = new HashMap<>();
+    private volatile String[] permissionNames = new String[0];
+    private volatile long[][] rolePermissions = new long[0][];
+    private volatile long version;
+    private final Map<String, Grant> grants = new ConcurrentHashMap<>();
+    private volatile ToIntFunction<String> primaryRole = username -> RoleRegistry.UNKNOWN;
+    private volatile Effective[] roleSets = new Effective[0];
+
+    private volatile RoleHierarchy hierarchy = new RoleHierarchy();
+
+    public static AuthorizationEngine fromConfig(RoleRegistry roles) {
+        AuthorizationEngine engine = new AuthorizationEngine();
+        engine.setHierarchy(RoleHierarchy.fromConfig(roles));
+        for (int roleId = 0; roleId < roles.size(); roleId++) {
+            String granted = AuthConfig.getString("role." + roles.nameOf(roleId) + ".permissions",
+                    defaultPermissions(roles.nameOf(roleId)));
+            engine.setRolePermissions(roleId, granted.isEmpty() ? new String[0] : granted.split(","));
+        }
+        return engine;
+    }
+
+    private static String defaultPermissions(String role) {
+        return switch (role) {
+            case "Admin" -> "admin.dashboard";
+            case "Analyst" -> "evidence.read,evidence.tag";
+            case "Guest" -> "spa.view";
+            default -> "";
+        };
+    }
+
+    // Returns the permission's bit index, assigning the next free one if it is new.
+    public synchronized int intern(String permission) {
+        Integer id = permissionIds.get(permission);
+        if (id != null) return id;
+        int next = permissionNames.length;
+        permissionIds.put(permission, next);
+        String[] names = Arrays.copyOf(permissionNames, next + 1);
+        names[next] = permission;
+        permissionNames = names;
+        return next;
+    }
+
+    public synchronized int permissionId(String permission) {
+        Integer id = permissionIds.get(permission);
+        return id == null ? UNKNOWN : id;
+    }
+
+    public int permissionCount() {
+        return permissionNames.length;
+    }
+
+    public synchronized void setRolePermissions(int roleId, String... permissions) {
+        long[] bits = new long[0];
+        for (String permission : permissions) {
+            String name = permission.trim();
+            if (name.isEmpty()) continue;
+            int id = intern(name);
+            if ((id >>> 6) >= bits.length) bits = Arrays.copyOf(bits, (id >>> 6) + 1);
+            bits[id >>> 6] |= 1L << id;
+        }
+        long[][] roles = rolePermissions;
+        if (roleId >= roles.length) roles = Arrays.copyOf(roles, roleId + 1);
+        else roles = roles.clone();
+        roles[roleId] = bits;
+        rolePermissions = roles;
+        version++;
+    }
+
+    // A role's permissions include those of every role it inherits, resolved through the precomputed closure.
+    public void setHierarchy(RoleHierarchy roles) {
+        hierarchy = roles;
+        roles.setListener(this::invalidateAll);
+        invalidateAll();
+    }
+
+    public RoleHierarchy hierarchy() {
+        return hierarchy;
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+    }
+
+    // Role of users with no explicit assignment, typically their stored primary role.
+    public void setPrimaryRoleLookup(ToIntFunction<String> lookup) {
+        primaryRole = lookup;
+        grants.values().removeIf(grant -> grant.derived);
+    }
+
+    // Call after a user without an assignment is created, removed, or moved to another primary role.
+    public void refreshPrimaryRole(String username) {
+        Grant grant = grants.get(username);
+        if (grant != null && grant.derived) grants.remove(username, grant);
+    }
+
+    public void assignRoles(String username, int... roleIds) {
+        grants.put(username, new Grant(roleIds.clone(), false));
+    }
+
+    public void removeUser(String username) {
+        grants.remove(username);
+    }
+
+    public int[] rolesOf(String username) {
+        Grant grant = grants.get(username);
+        return grant == null || grant.derived ? new int[0] : grant.roles.clone();
+    }
+
+    public boolean isAllowed(String username, int permissionId) {
+        if (permissionId < 0) return false;
+        long[] bits = effectiveBits(username);
+        int word = permissionId >>> 6;
+        return word < bits.length && (bits[word] & (1L << permissionId)) != 0;
+    }
+
+    // True when the user holds every permission set in required (a bitset built with bitsFor).
+    public boolean isAllowedAll(String username, long[] required) {
+        long[] bits = effectiveBits(username);
+        for (int i = 0; i < required.length; i++) {
+            long have = i < bits.length ? bits[i] : 0;
+            if ((have & required[i]) != required[i]) return false;
+        }
+        return true;
+    }
+
+    public long[] bitsFor(String... permissions) {
+        long[] bits = new long[0];
+        for (String permission : permissions) {
+            int id = intern(permission);
+            if ((id >>> 6) >= bits.length) bits = Arrays.copyOf(bits, (id >>> 6) + 1);
+            bits[id >>> 6] |= 1L << id;
+        }
+        return bits;
+    }
+
+    private long[] effectiveBits(String username) {
+        Grant grant = grants.get(username);
+        if (grant == null) grant = grants.computeIfAbsent(username, this::primaryGrant);
+        if (grant.derived) return roleBits(grant.roles.length == 0 ? RoleRegistry.UNKNOWN : grant.roles[0]);
+        long current = version;
+        Effective cached = grant.cached;
+        if (cached != null && cached.version() == current) return cached.bits();
+        long[] bits = unionOf(grant.roles);
+        grant.cached = new Effective(current, bits);
+        return bits;
+    }
+
+    // Runs inside computeIfAbsent, so a refreshPrimaryRole racing with it removes what it caches.
+    private Grant primaryGrant(String username) {
+        int roleId = primaryRole.applyAsInt(username);
+        return new Grant(roleId < 0 ? new int[0] : new int[] {roleId}, true);
+    }
+
+    // Users without an explicit grant share one cached set per role.
+    private long[] roleBits(int roleId) {
+        if (roleId < 0) return NONE;
+        long current = version;
+        Effective[] sets = roleSets;
+        Effective cached = roleId < sets.length ? sets[roleId] : null;
+        if (cached != null && cached.version() == current) return cached.bits();
+        long[] bits = unionOf(new int[] {roleId});
+        synchronized (this) {
+            if (roleId >= roleSets.length) roleSets = Arrays.copyOf(roleSets, roleId + 1);
+            roleSets[roleId] = new Effective(current, bits);
+        }
+        return bits;
+    }
+
+    private long[] unionOf(int[] assignedRoles) {
+        long[][] definitions = rolePermissions;
+        RoleHierarchy roles = hierarchy;
+        long[] bits = NONE;
+        for (int assigned : assignedRoles) {
+            for (int roleId : roles.closure(assigned)) {
+                if (roleId < 0 || roleId >= definitions.length || definitions[roleId] == null) continue;
+                long[] granted = definitions[roleId];
+                if (granted.length > bits.length) bits = Arrays.copyOf(bits, granted.length);
+                for (int i = 0; i < granted.length; i++) bits[i] |= granted[i];
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * BiometricProvider.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous biometric verification. Implementations must not block the caller;
+ * the future completes with true when the sample matches the enrolled user.
+ */
+public interface BiometricProvider {
+
+    CompletableFuture<Boolean> verify(String username, String sample);
+}
@@ -0,0 +1,113 @@
+/*
+ * BloomFilter.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent bloom filter over 64-bit hashes. Bits live in an {@link AtomicLongArray} so
+ * concurrent adds never lose a bit (a lost bit would be a false negative). Probe positions
+ * use double hashing from one 64-bit hash; strings are hashed with a per-filter seed so
+ * callers cannot precompute colliding inputs.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    BloomFilter(long expectedItems, double falsePositiveRate) {
+        if (expectedItems < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter sizing.");
+        }
+        long bits = (long) Math.ceil(-expectedItems * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long wordCount = Math.max(1, (bits + 63) >>> 6);
+        if (wordCount > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Bloom filter too large.");
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitCount = wordCount << 6;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedItems * Math.log(2)));
+    }
+
+    // Sizes the filter from a memory budget instead of a target false-positive rate.
+    static BloomFilter withBudget(long expectedItems, long bytesPerMillion) {
+        double bitsPerItem = bytesPerMillion * 8 / 1_000_000.0;
+        double falsePositiveRate = Math.exp(-bitsPerItem * Math.log(2) * Math.log(2));
+        return new BloomFilter(Math.max(1, expectedItems), Math.min(0.5, Math.max(1e-12, falsePositiveRate)));
+    }
+
+    void add(long hash) {
+        long h2 = mix(hash) | 1;
+        long h = hash;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(index);
+            while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+                current = words.get(index);
+            }
+            h += h2;
+        }
+    }
+
+    boolean mightContain(long hash) {
+        long h2 = mix(hash) | 1;
+        long h = hash;
+        boolean present = true;
+        // No early exit: every lookup touches the same number of words.
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h, bitCount);
+            present &= (words.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+            h += h2;
+        }
+        return present;
+    }
+
+    void add(CharSequence value) {
+        add(hash(value));
+    }
+
+    boolean mightContain(CharSequence value) {
+        return mightContain(hash(value));
+    }
+
+    long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    long memoryBytes() {
+        return (bitCount >>> 3) + 16;
+    }
+
+    // Murmur3 64-bit finalizer.
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * BloomFilteredCredentialStore.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Negative-lookup filter in front of a {@link CredentialStore}. Most hostile traffic guesses
+ * names that do not exist. Those lookups are answered from a bloom filter of known usernames
+ * and never reach the store.
+ *
+ * Users are added to the filter before they reach the store, so it has no false negatives.
+ * Removals cannot clear bits, so the filter is rebuilt in the background once enough users
+ * are added or removed. Writes that overlap a rebuild also go into the new filter; only those
+ * take a lock. Every check probes the same number of words with no early exit. The filter only
+ * decides whether the store is consulted; the login path treats unknown names the same way
+ * either way.
+ */
+public class BloomFilteredCredentialStore implements CredentialStore {
+
+    private final CredentialStore delegate;
+    private final long bytesPerMillion;
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong removed = new AtomicLong();
+    private final LongAdder filtered = new LongAdder();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "username-filter");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile BloomFilter filter;
+    private volatile long capacity;
+    // Bumped at every swap, so a put can tell that a rebuild finished while it was running.
+    private volatile long generation;
+    private BloomFilter building;
+
+    public BloomFilteredCredentialStore(CredentialStore delegate, long expectedUsers, long bytesPerMillion) {
+        this.delegate = delegate;
+        this.bytesPerMillion = bytesPerMillion;
+        this.capacity = Math.max(expectedUsers, delegate.size() * 3L / 2);
+        BloomFilter initial = BloomFilter.withBudget(capacity, bytesPerMillion);
+        delegate.forEach((username, record) -> initial.add(username));
+        this.filter = initial;
+    }
+
+    public static BloomFilteredCredentialStore fromConfig(CredentialStore delegate) {
+        return new BloomFilteredCredentialStore(delegate, AuthConfig.getLong("store.expected.users", 16),
+                AuthConfig.getLong("store.bloom.bytes.per.million", 1_200_000));
+    }
+
+    @Override
+    public UserRecord find(String username) {
+        if (!filter.mightContain(username)) {
+            filtered.increment();
+            return null;
+        }
+        return delegate.find(username);
+    }
+
+    @Override
+    public void put(String username, UserRecord record) {
+        long seen = generation;
+        filter.add(username);
+        delegate.put(username, record);
+        if (rebuilding.get() || generation != seen) addDuringRebuild(username);
+        maybeRebuild();
+    }
+
+    @Override
+    public boolean replace(String username, UserRecord expected, UserRecord updated) {
+        return delegate.replace(username, expected, updated);
+    }
+
+    @Override
+    public UserRecord remove(String username) {
+        UserRecord removed = delegate.remove(username);
+        if (removed != null) {
+            this.removed.incrementAndGet();
+            maybeRebuild();
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, UserRecord> action) {
+        delegate.forEach(action);
+    }
+
+    public long filteredCount() {
+        return filtered.sum();
+    }
+
+    public long memoryBytes() {
+        return filter.memoryBytes();
+    }
+
+    // The rebuild may have scanned past this user, before or after swapping filters.
+    private void addDuringRebuild(String username) {
+        synchronized (rebuildLock) {
+            filter.add(username);
+            if (building != null) building.add(username);
+        }
+    }
+
+    // Rebuild once the filter is full, or once a quarter of its capacity has been removed.
+    private void maybeRebuild() {
+        if (delegate.size() <= capacity && removed.get() <= capacity / 4) return;
+        if (rebuilding.compareAndSet(false, true)) rebuilder.execute(this::rebuild);
+    }
+
+    private void rebuild() {
+        try {
+            long target = Math.max(capacity, delegate.size() * 3L / 2);
+            long removedBefore = removed.get();
+            BloomFilter next = BloomFilter.withBudget(target, bytesPerMillion);
+            synchronized (rebuildLock) {
+                building = next;
+            }
+            delegate.forEach((username, record) -> next.add(username));
+            synchronized (rebuildLock) {
+                filter = next;
+                capacity = target;
+                building = null;
+                generation++;
+            }
+            removed.addAndGet(-removedBefore);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+}
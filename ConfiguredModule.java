@@ -0,0 +1,51 @@
+/*
+ * ConfiguredModule.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.PrintStream;
+
+/**
+ * Module described entirely by configuration:
+ * module.<name>.message, module.<name>.endpoint and module.<name>.evidence.
+ */
+public record ConfiguredModule(String message, String endpoint, boolean evidence) implements ModuleHandler {
+
+    static final ConfiguredModule ADMIN =
+            new ConfiguredModule("🔧 Routing to Admin Control Panel...", "/admin/dashboard", false);
+    static final ConfiguredModule ANALYST =
+            new ConfiguredModule("🔍 Routing to Forensic Evidence Dashboard...", null, true);
+    static final ConfiguredModule GUEST =
+            new ConfiguredModule("📄 Routing to Read-Only SPA Toolkit...", "/guest/view", false);
+
+    // Falls back to the built-in module of the same name for keys that are not configured.
+    public static ConfiguredModule fromConfig(String name) {
+        ConfiguredModule builtIn = switch (name) {
+            case "admin" -> ADMIN;
+            case "analyst" -> ANALYST;
+            case "guest" -> GUEST;
+            default -> null;
+        };
+        String prefix = "module." + name + ".";
+        String message = AuthConfig.getString(prefix + "message", builtIn == null ? null : builtIn.message());
+        if (message == null) return null;
+        String endpoint = AuthConfig.getString(prefix + "endpoint", builtIn == null ? null : builtIn.endpoint());
+        boolean evidence = Boolean.parseBoolean(AuthConfig.getString(prefix + "evidence",
+                String.valueOf(builtIn != null && builtIn.evidence())));
+        return new ConfiguredModule(message, endpoint == null || endpoint.isEmpty() ? null : endpoint, evidence);
+    }
+
+    @Override
+    public boolean route(PrintStream out) {
+        out.println(message);
+        if (endpoint != null) out.println("Simulated SPA endpoint: " + endpoint);
+        if (evidence) out.println("\n🧪 Forensic Evidence System");
+        return evidence;
+    }
+}
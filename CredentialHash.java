@@ -0,0 +1,46 @@
+/*
+ * CredentialHash.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * A stored PIN hash together with the parameters that produced it, so each record
+ * can be verified with its own settings and upgraded when the policy moves on.
+ */
+public record CredentialHash(String algorithm, int iterations, byte[] salt, byte[] hash) {
+
+    // Content equality; stores that decode records on every find never return the same instance.
+    public boolean sameAs(CredentialHash other) {
+        return other != null
+                && iterations == other.iterations
+                && algorithm.equals(other.algorithm)
+                && Arrays.equals(salt, other.salt)
+                && MessageDigest.isEqual(hash, other.hash);
+    }
+
+    // Compact algorithm codes for binary encodings (WAL, snapshots, off-heap slots).
+    static int algorithmCode(String algorithm) {
+        return switch (algorithm) {
+            case Sha256Hasher.ALGORITHM -> 1;
+            case Pbkdf2Hasher.ALGORITHM -> 2;
+            default -> throw new IllegalArgumentException("Unsupported algorithm " + algorithm);
+        };
+    }
+
+    static String algorithmForCode(int code) {
+        return switch (code) {
+            case 1 -> Sha256Hasher.ALGORITHM;
+            case 2 -> Pbkdf2Hasher.ALGORITHM;
+            default -> throw new IllegalArgumentException("Unknown algorithm code " + code);
+        };
+    }
+}
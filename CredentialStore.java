@@ -0,0 +1,34 @@
+/*
+ * CredentialStore.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.function.BiConsumer;
+
+/**
+ * Lookup and update contract for user credentials.
+ * Implementations must be safe to call from many login threads at once.
+ */
+public interface CredentialStore {
+
+    // Single probe: returns the full record (credential, role id) or null.
+    UserRecord find(String username);
+
+    void put(String username, UserRecord record);
+
+    // Compare-and-set update; returns false if the record changed underneath the caller.
+    boolean replace(String username, UserRecord expected, UserRecord updated);
+
+    UserRecord remove(String username);
+
+    int size();
+
+    // Visits every record; concurrent updates may or may not be seen.
+    void forEach(BiConsumer<String, UserRecord> action);
+}
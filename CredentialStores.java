@@ -0,0 +1,49 @@
+/*
+ * CredentialStores.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import java.io.IOException;
+
+/**
+ * Builds the credential store stack config asks for: the in-memory backend
+ * (store.backend=heap|offheap), write-ahead persistence when store.dir is set, and the
+ * Bloom filter in front. The console and the importer share it so both see the same users.
+ * A store.dir that cannot be opened stops startup, unless store.allow.ephemeral=true accepts
+ * running without persistence.
+ */
+final class CredentialStores {
+
+    private CredentialStores() {
+    }
+
+    static CredentialStore open(RoleRegistry roles) {
+        CredentialStore memory = AuthConfig.getString("store.backend", "heap").equals("offheap")
+                ? OffHeapCredentialStore.fromConfig()
+                : new InMemoryCredentialStore(AuthConfig.getInt("store.expected.users", 16));
+        CredentialStore store = memory;
+        if (!AuthConfig.getString("store.dir", "").isEmpty()) {
+            try {
+                PersistentCredentialStore persistent = PersistentCredentialStore.fromConfig(memory, roles);
+                Runtime.getRuntime().addShutdownHook(new Thread(persistent::close, "store-shutdown"));
+                store = persistent;
+            } catch (IOException e) {
+                if (!Boolean.parseBoolean(AuthConfig.getString("store.allow.ephemeral", "false"))) {
+                    throw new IllegalStateException("Cannot open credential store in "
+                            + AuthConfig.getString("store.dir", "") + "; set store.allow.ephemeral=true to run without it", e);
+                }
+                System.out.println("⚠️ Failed to open credential store; users will not be persisted: " + e.getMessage());
+            }
+        }
+        return AuthConfig.getLong("store.bloom.bytes.per.million", 1_200_000) > 0
+                ? BloomFilteredCredentialStore.fromConfig(store)
+                : store;
+    }
+}
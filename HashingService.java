@@ -0,0 +1,100 @@
+/*
+ * HashingService.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs PIN hashing and verification on a dedicated, bounded worker pool so slow hashes
+ * never execute on request I/O threads. When the pool and its queue are full, new work
+ * fails fast with {@link RejectedExecutionException} instead of piling up.
+ */
+public class HashingService {
+
+    private final PasswordHasher current;
+    private final Map<String, PasswordHasher> verifiers;
+    private final ThreadPoolExecutor pool;
+    private final LongAdder rejected = new LongAdder();
+
+    public HashingService(PasswordHasher current, int threads, int queueCapacity) {
+        this.current = current;
+        this.verifiers = Map.of(
+                Sha256Hasher.ALGORITHM, current instanceof Sha256Hasher ? current : new Sha256Hasher(),
+                Pbkdf2Hasher.ALGORITHM, current instanceof Pbkdf2Hasher ? current : new Pbkdf2Hasher(1));
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "pin-hasher-" + ids.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public static HashingService fromConfig() {
+        String algorithm = AuthConfig.getString("hash.algorithm", "pbkdf2").toLowerCase(Locale.ROOT);
+        PasswordHasher hasher = algorithm.equals("sha256")
+                ? new Sha256Hasher()
+                : new Pbkdf2Hasher(AuthConfig.getInt("hash.pbkdf2.iterations", 100_000));
+        return new HashingService(hasher,
+                AuthConfig.getInt("hash.pool.threads", Runtime.getRuntime().availableProcessors()),
+                AuthConfig.getInt("hash.pool.queue", 1024));
+    }
+
+    public PasswordHasher current() {
+        return current;
+    }
+
+    public boolean needsUpgrade(CredentialHash stored) {
+        return current.needsUpgrade(stored);
+    }
+
+    public CompletableFuture<Boolean> verify(String pin, CredentialHash stored) {
+        PasswordHasher verifier = verifiers.get(stored.algorithm());
+        if (verifier == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Unsupported hash algorithm: " + stored.algorithm()));
+        }
+        return submit(() -> verifier.verify(pin, stored));
+    }
+
+    public CompletableFuture<CredentialHash> hash(String pin) {
+        return submit(() -> current.hash(pin));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, pool);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public int queueDepth() {
+        return pool.getQueue().size();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
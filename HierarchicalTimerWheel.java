@@ -0,0 +1,104 @@
+/*
+ * HierarchicalTimerWheel.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Four-level timer wheel of 64 slots per level. Level 0 holds the next 64 ticks, level 1 the
+ * next 64² and so on; when a lower level wraps, the matching higher slot is cascaded down.
+ * Each entry is touched at most once per level, so millions of far-off deadlines cost
+ * nothing per tick, unlike the single-level {@link TimerWheel} which rescans them every
+ * rotation. Deadlines beyond 64⁴ ticks are parked in the top level and re-placed on cascade.
+ * Expiry callbacks run outside the wheel lock.
+ */
+final class HierarchicalTimerWheel<T> {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private record Entry<T>(T item, long deadlineMs, long deadlineTick) {
+    }
+
+    private final long tickMs;
+    private final ArrayDeque<Entry<T>>[][] wheels;
+    private long currentTick;
+    private long size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    HierarchicalTimerWheel(long tickMs, long nowMs) {
+        if (tickMs < 1) throw new IllegalArgumentException("Invalid tick.");
+        this.tickMs = tickMs;
+        this.wheels = new ArrayDeque[LEVELS][SLOTS];
+        for (ArrayDeque[] level : wheels) {
+            for (int i = 0; i < SLOTS; i++) level[i] = new ArrayDeque<>();
+        }
+        this.currentTick = nowMs / tickMs;
+    }
+
+    // Uses the first tick at or after the deadline, so nothing fires before it is due.
+    synchronized void schedule(T item, long deadlineMs) {
+        long tick = Math.floorDiv(deadlineMs + tickMs - 1, tickMs);
+        place(new Entry<>(item, deadlineMs, Math.max(tick, currentTick + 1)));
+        size++;
+    }
+
+    // Fires every entry whose deadline tick is at or before nowMs's tick, hence at or before nowMs.
+    void advance(long nowMs, Consumer<T> onExpire) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            long target = nowMs / tickMs;
+            while (currentTick < target) {
+                currentTick++;
+                cascade(1);
+                ArrayDeque<Entry<T>> slot = wheels[0][(int) (currentTick & MASK)];
+                Entry<T> entry;
+                while ((entry = slot.poll()) != null) {
+                    if (entry.deadlineTick() <= currentTick) {
+                        size--;
+                        expired.add(entry.item());
+                    } else {
+                        place(entry);
+                    }
+                }
+            }
+        }
+        expired.forEach(onExpire);
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    // When every level below has wrapped to zero, the level's current slot moves down.
+    private void cascade(int level) {
+        if (level >= LEVELS || (currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) return;
+        cascade(level + 1);
+        ArrayDeque<Entry<T>> slot = wheels[level][(int) ((currentTick >>> (SLOT_BITS * level)) & MASK)];
+        Entry<T> entry;
+        List<Entry<T>> moving = new ArrayList<>(slot.size());
+        while ((entry = slot.poll()) != null) moving.add(entry);
+        for (Entry<T> e : moving) place(e);
+    }
+
+    private void place(Entry<T> entry) {
+        long tick = Math.min(entry.deadlineTick(), currentTick + MAX_DELTA);
+        long delta = tick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+        wheels[level][(int) ((tick >>> (SLOT_BITS * level)) & MASK)].add(entry);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * InMemoryCredentialStore.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Lock-free in-memory store. Reads never block; updates are CAS swaps of
+ * immutable {@link UserRecord}s, so live inserts are safe during verification.
+ */
+public class InMemoryCredentialStore implements CredentialStore {
+
+    private final ConcurrentHashMap<String, UserRecord> records;
+
+    public InMemoryCredentialStore() {
+        this(16);
+    }
+
+    public InMemoryCredentialStore(int expectedUsers) {
+        this.records = new ConcurrentHashMap<>(expectedUsers);
+    }
+
+    @Override
+    public UserRecord find(String username) {
+        return records.get(username);
+    }
+
+    @Override
+    public void put(String username, UserRecord record) {
+        records.put(username, record);
+    }
+
+    @Override
+    public boolean replace(String username, UserRecord expected, UserRecord updated) {
+        return records.replace(username, expected, updated);
+    }
+
+    @Override
+    public UserRecord remove(String username) {
+        return records.remove(username);
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, UserRecord> action) {
+        records.forEach(action);
+    }
+}
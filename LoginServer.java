@@ -0,0 +1,135 @@
+/*
+ * LoginServer.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Line-oriented login server. A single selector thread owns every {@link LoginSession};
+ * asynchronous MFA steps complete elsewhere and hop back onto the selector, so
+ * thousands of in-progress logins need no thread of their own. Steps that block on disk
+ * (audit writes, custody history reads) run on a small pool (server.io.threads) for the
+ * same reason. A session that throws is closed on its own; the selector keeps running.
+ */
+public class LoginServer implements Runnable {
+
+    private static final Logger logger = Logger.getLogger(LoginServer.class.getName());
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ExecutorService blocking = Executors.newFixedThreadPool(
+            Math.max(1, AuthConfig.getInt("server.io.threads", 4)), r -> {
+                Thread t = new Thread(r, "login-io");
+                t.setDaemon(true);
+                return t;
+            });
+    private volatile boolean running = true;
+
+    public LoginServer(int port) throws IOException {
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    @Override
+    public void run() {
+        logger.log(Level.INFO, "Login server listening on {0}", server.socket().getLocalSocketAddress());
+        try {
+            while (running) {
+                selector.select();
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, "Login server task failed.", e);
+                    }
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    LoginSession session = (LoginSession) key.attachment();
+                    try {
+                        if (key.isReadable()) session.onReadable();
+                        if (key.isValid() && key.isWritable()) session.onWritable();
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, "Closing login session after an unexpected error.", e);
+                        session.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Login server stopped unexpectedly.", e);
+        } finally {
+            try {
+                selector.close();
+                server.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+        blocking.shutdown();
+        selector.wakeup();
+    }
+
+    // Runs the task on the selector thread; sessions are only ever touched there.
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    // Runs blocking work off the selector thread; callers hop back with execute().
+    <T> CompletableFuture<T> offload(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, blocking);
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            LoginSession session = new LoginSession(this, channel, key);
+            key.attach(session);
+            try {
+                session.start();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Closing login session after an unexpected error.", e);
+                session.close();
+            }
+        }
+    }
+}
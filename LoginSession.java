@@ -0,0 +1,327 @@
+/*
+ * LoginSession.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Per-connection login state machine. Runs the same pipeline as the console flow
+ * (PIN → MFA → routing) but is driven by input lines and future callbacks
+ * on the server's selector thread instead of a blocking {@code Scanner}.
+ */
+class LoginSession {
+
+    private static final int MAX_LINE_BYTES = 1024;
+    // Lines a client may type ahead while an upstream call is pending; more closes the session.
+    private static final int MAX_PENDING_LINES = 8;
+
+    private enum State { USERNAME, PIN, BIOMETRIC, OTP, EVIDENCE_ID, NOTE, WAITING, CLOSED }
+
+    private final LoginServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final String source;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(512);
+    private final ByteArrayOutputStream lineBytes = new ByteArrayOutputStream();
+    private final Deque<String> pendingLines = new ArrayDeque<>();
+    private final ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(outBytes, true, StandardCharsets.UTF_8);
+    private final Deque<ByteBuffer> writeQueue = new ArrayDeque<>();
+
+    private State state = State.USERNAME;
+    private boolean closeWhenFlushed;
+    private String username;
+    private UserRecord user;
+    private MfaPolicy policy;
+    private MfaResult mfa;
+    private String evidenceId;
+
+    LoginSession(LoginServer server, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        this.source = remoteHost(channel);
+    }
+
+    private static String remoteHost(SocketChannel channel) {
+        try {
+            return channel.getRemoteAddress() instanceof InetSocketAddress address
+                    ? address.getAddress().getHostAddress()
+                    : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    void start() {
+        AuthFramework.printBanner(out);
+        out.print("Enter username: ");
+        flush();
+    }
+
+    void onReadable() {
+        int read;
+        try {
+            read = channel.read(readBuffer);
+        } catch (IOException e) {
+            close();
+            return;
+        }
+        if (read < 0) {
+            close();
+            return;
+        }
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                String line = lineBytes.toString(StandardCharsets.UTF_8);
+                if (line.endsWith("\r")) line = line.substring(0, line.length() - 1);
+                if (pendingLines.size() >= MAX_PENDING_LINES) {
+                    close();
+                    return;
+                }
+                pendingLines.add(line);
+                lineBytes.reset();
+            } else if (lineBytes.size() >= MAX_LINE_BYTES) {
+                close();
+                return;
+            } else {
+                lineBytes.write(b);
+            }
+        }
+        readBuffer.clear();
+        drainLines();
+    }
+
+    void onWritable() {
+        try {
+            while (!writeQueue.isEmpty()) {
+                ByteBuffer head = writeQueue.peek();
+                channel.write(head);
+                if (head.hasRemaining()) return;
+                writeQueue.poll();
+            }
+        } catch (IOException e) {
+            close();
+            return;
+        }
+        if (closeWhenFlushed) {
+            close();
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    // Lines typed while an upstream call is pending stay queued until it completes.
+    private void drainLines() {
+        while (state != State.WAITING && state != State.CLOSED && !pendingLines.isEmpty()) {
+            onLine(pendingLines.poll());
+        }
+        flush();
+    }
+
+    private void onLine(String line) {
+        switch (state) {
+            case USERNAME -> {
+                if (runTokenCommand(line)) return;
+                username = line;
+                promptPin();
+            }
+            case PIN -> await(AuthFramework.checkPin(username, source, line), (outcome, error) -> {
+                AuthFramework.PinOutcome result = error != null ? AuthFramework.PinOutcome.UNAVAILABLE : outcome;
+                AuthFramework.printPinOutcome(result, username, out);
+                switch (result) {
+                    case ACCEPTED -> {
+                        user = AuthFramework.findUser(username);
+                        if (user == null) {
+                            finish();
+                            return;
+                        }
+                        policy = AuthFramework.mfaPolicyFor(AuthFramework.roleName(user));
+                        if (policy.biometric()) {
+                            state = State.BIOMETRIC;
+                            out.print("Simulate biometric scan (type 'scan'): ");
+                        } else {
+                            startMfa(null);
+                        }
+                    }
+                    case INCORRECT -> promptPin();
+                    default -> finish();
+                }
+            });
+            case BIOMETRIC -> startMfa(line);
+            case OTP -> {
+                OtpChallenges.Outcome outcome = AuthFramework.checkOtp(username, mfa, line);
+                AuthFramework.reportOtp(outcome, mfa, out);
+                switch (outcome) {
+                    case VERIFIED -> grant();
+                    case INCORRECT -> out.print("Enter OTP: ");
+                    default -> finish();
+                }
+            }
+            case EVIDENCE_ID -> {
+                evidenceId = line;
+                state = State.NOTE;
+                out.print("Enter chain-of-custody note: ");
+            }
+            case NOTE -> awaitBlocking(o -> AuthFramework.tagEvidence(username, evidenceId, line, o), this::finish);
+            default -> { }
+        }
+    }
+
+    // Session commands take the place of a username: VALIDATE, ROUTE or LOGOUT followed by a token.
+    private boolean runTokenCommand(String line) {
+        int space = line.indexOf(' ');
+        if (space < 0) return false;
+        String command = line.substring(0, space);
+        String token = line.substring(space + 1).trim();
+        switch (command) {
+            case "VALIDATE" -> {
+                SessionClaims claims = AuthFramework.validateSession(token);
+                out.println(claims == null ? "INVALID" : "VALID " + claims.username() + " " + claims.role());
+                finish();
+            }
+            case "ROUTE" -> {
+                SessionClaims claims = AuthFramework.validateSession(token);
+                if (claims == null) {
+                    out.println("🚫 Invalid or expired session.");
+                    finish();
+                } else if (AuthFramework.routeToModule(AuthFramework.roleId(claims.role()), out)) {
+                    username = claims.username();
+                    state = State.EVIDENCE_ID;
+                    out.print("Enter evidence ID to tag: ");
+                } else {
+                    finish();
+                }
+            }
+            case "LOGOUT" -> {
+                out.println(AuthFramework.logout(token) ? "LOGGED_OUT" : "INVALID");
+                finish();
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void promptPin() {
+        AuthFramework.PinOutcome blocked = AuthFramework.pinGate(username, source);
+        if (blocked != null) {
+            AuthFramework.printPinOutcome(blocked, username, out);
+            finish();
+            return;
+        }
+        state = State.PIN;
+        out.print("Enter PIN: ");
+    }
+
+    private void startMfa(String biometricSample) {
+        await(AuthFramework.startMfa(username, policy, biometricSample, out), (result, error) -> {
+            if (error != null || !AuthFramework.reportMfa(result, out)) {
+                finish();
+            } else if (policy.otp()) {
+                mfa = result;
+                state = State.OTP;
+                out.print("Enter OTP: ");
+            } else {
+                grant();
+            }
+        });
+    }
+
+    private void grant() {
+        String role = AuthFramework.roleName(user);
+        awaitBlocking(o -> AuthFramework.grantAccess(username, role, o), () -> {
+            if (AuthFramework.routeToModule(user.roleId(), out)) {
+                state = State.EVIDENCE_ID;
+                out.print("Enter evidence ID to tag: ");
+            } else {
+                finish();
+            }
+        });
+    }
+
+    private <T> void await(CompletableFuture<T> future, BiConsumer<T, Throwable> continuation) {
+        state = State.WAITING;
+        future.whenComplete((result, error) -> server.execute(() -> resume(() -> continuation.accept(result, error))));
+    }
+
+    // Framework calls that touch the disk run on the server's I/O pool. They print into their
+    // own buffer, which is copied to the client back on the selector thread.
+    private void awaitBlocking(Consumer<PrintStream> work, Runnable then) {
+        await(server.offload(() -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            work.accept(new PrintStream(buffer, true, StandardCharsets.UTF_8));
+            return buffer.toString(StandardCharsets.UTF_8);
+        }), (text, error) -> {
+            if (error != null) {
+                out.println("⚠️ Request failed; please try again.");
+                finish();
+                return;
+            }
+            out.print(text);
+            then.run();
+        });
+    }
+
+    private void resume(Runnable continuation) {
+        if (state == State.CLOSED) return;
+        try {
+            continuation.run();
+            drainLines();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void finish() {
+        state = State.CLOSED;
+        closeWhenFlushed = true;
+    }
+
+    private void flush() {
+        if (outBytes.size() > 0) {
+            writeQueue.add(ByteBuffer.wrap(outBytes.toByteArray()));
+            outBytes.reset();
+        }
+        if (!key.isValid()) return;
+        if (!writeQueue.isEmpty()) {
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else if (closeWhenFlushed) {
+            close();
+        }
+    }
+
+    void close() {
+        state = State.CLOSED;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * LoginThrottle.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared lockout and rate limiting for PIN attempts, keyed both by account and by source
+ * address. State outlives any one session, so a lockout holds across sessions and threads.
+ * Every check is a single O(1) map lookup; idle keys are swept in the background.
+ *
+ * Reaching the account limit sets an explicit locked-until time one window ahead. The lock
+ * lasts exactly as long as the message promises, and the count starts over when it ends.
+ * The account limiter fails open when saturated, so a flood of unknown usernames cannot lock
+ * out real accounts; the per-source limit still applies to the flood.
+ */
+public class LoginThrottle {
+
+    public enum Decision { ALLOWED, ACCOUNT_LOCKED, SOURCE_LIMITED }
+
+    private final SlidingWindowLimiter accounts;
+    private final SlidingWindowLimiter sources;
+    private final ConcurrentHashMap<String, Long> lockedUntil = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    public LoginThrottle(SlidingWindowLimiter accounts, SlidingWindowLimiter sources, long sweepIntervalMs) {
+        this.accounts = accounts;
+        this.sources = sources;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "login-throttle-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(() -> {
+            long now = System.currentTimeMillis();
+            accounts.sweep(now);
+            lockedUntil.values().removeIf(until -> until <= now);
+            sources.sweep(now);
+        }, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static LoginThrottle fromConfig() {
+        int maxKeys = AuthConfig.getInt("throttle.max.keys", 1_000_000);
+        return new LoginThrottle(
+                new SlidingWindowLimiter(AuthConfig.getInt("lockout.max.attempts", 3),
+                        AuthConfig.getLong("lockout.window.ms", 30_000), maxKeys, true),
+                new SlidingWindowLimiter(AuthConfig.getInt("ratelimit.source.max.failures", 20),
+                        AuthConfig.getLong("ratelimit.source.window.ms", 60_000), maxKeys),
+                AuthConfig.getLong("throttle.sweep.interval.ms", 10_000));
+    }
+
+    public Decision check(String username, String source) {
+        long now = System.currentTimeMillis();
+        if (isLocked(username, now)) return Decision.ACCOUNT_LOCKED;
+        if (sources.isLimited(source, now)) return Decision.SOURCE_LIMITED;
+        return Decision.ALLOWED;
+    }
+
+    // Records a wrong PIN; returns the attempts the account has left (0 means it is now locked).
+    public int recordFailure(String username, String source) {
+        long now = System.currentTimeMillis();
+        sources.record(source, now);
+        int left = remaining(accounts.record(username, now));
+        if (left == 0) lockedUntil.put(username, now + accounts.windowMs());
+        return left;
+    }
+
+    public void recordSuccess(String username) {
+        accounts.reset(username);
+        lockedUntil.remove(username);
+    }
+
+    public int attemptsLeft(String username) {
+        return remaining(accounts.estimate(username, System.currentTimeMillis()));
+    }
+
+    public long lockoutWindowMs() {
+        return accounts.windowMs();
+    }
+
+    private boolean isLocked(String username, long now) {
+        Long until = lockedUntil.get(username);
+        if (until == null) return false;
+        if (now < until) return true;
+        if (lockedUntil.remove(username, until)) accounts.reset(username);
+        return false;
+    }
+
+    private int remaining(double estimate) {
+        return Math.max(0, accounts.limit() - (int) Math.ceil(estimate - 1e-9));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * LongMultiMap.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Multimap from 64-bit keys to long values with one posting list per key. An open-addressing
+ * table holds each distinct key once with the head and tail of its list; the values sit in a
+ * shared entry array, chained in insertion order. A lookup probes for the key once and then
+ * walks only that key's values, however many other keys or duplicates exist. All state is in
+ * primitive arrays, so it can be written out and read back without rehashing.
+ * Not thread-safe; callers guard it.
+ */
+final class LongMultiMap {
+
+    private static final long EMPTY = 0L;
+    private static final int END = -1;
+
+    private long[] keys;
+    private int[] heads;
+    private int[] tails;
+    private int distinct;
+    private long[] values;
+    private int[] next;
+    private int size;
+
+    LongMultiMap(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedEntries * 2 - 1)) << 1;
+        keys = new long[capacity];
+        heads = new int[capacity];
+        tails = new int[capacity];
+        values = new long[Math.max(16, expectedEntries)];
+        next = new int[values.length];
+    }
+
+    void put(long key, long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            next = Arrays.copyOf(next, size * 2);
+        }
+        values[size] = value;
+        next[size] = END;
+        long k = remap(key);
+        int slot = slotOf(keys, k);
+        if (keys[slot] == k) {
+            next[tails[slot]] = size;
+            tails[slot] = size;
+        } else {
+            keys[slot] = k;
+            heads[slot] = tails[slot] = size;
+            if (++distinct * 2 > keys.length) resize();
+        }
+        size++;
+    }
+
+    void forEach(long key, LongConsumer action) {
+        long k = remap(key);
+        int slot = slotOf(keys, k);
+        if (keys[slot] != k) return;
+        for (int e = heads[slot]; e != END; e = next[e]) action.accept(values[e]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Copies the slot table and shares the entry arrays. Entries below size never change
+    // except the link out of each tail, which the snapshot cuts at size; so it can be written
+    // out while the caller's lock is released and appends carry on.
+    Snapshot snapshot() {
+        return new Snapshot(keys.clone(), heads.clone(), tails.clone(), distinct, values, next, size);
+    }
+
+    record Snapshot(long[] keys, int[] heads, int[] tails, int distinct, long[] values, int[] next, int size) {
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(keys.length);
+            out.writeInt(distinct);
+            out.writeInt(size);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == EMPTY) continue;
+                out.writeInt(i);
+                out.writeLong(keys[i]);
+                out.writeInt(heads[i]);
+                out.writeInt(tails[i]);
+            }
+            for (int e = 0; e < size; e++) {
+                int link = next[e];
+                out.writeLong(values[e]);
+                out.writeInt(link >= size ? END : link);
+            }
+        }
+    }
+
+    static LongMultiMap readFrom(DataInputStream in) throws IOException {
+        int capacity = in.readInt();
+        int distinct = in.readInt();
+        int size = in.readInt();
+        if (Integer.bitCount(capacity) != 1 || distinct * 2 > capacity || size < distinct) {
+            throw new IOException("Corrupt multimap header");
+        }
+        LongMultiMap map = new LongMultiMap(Math.max(size, 16));
+        map.keys = new long[capacity];
+        map.heads = new int[capacity];
+        map.tails = new int[capacity];
+        for (int n = 0; n < distinct; n++) {
+            int slot = in.readInt();
+            if (slot < 0 || slot >= capacity) throw new IOException("Corrupt multimap slot");
+            map.keys[slot] = in.readLong();
+            map.heads[slot] = in.readInt();
+            map.tails[slot] = in.readInt();
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            if (map.keys[slot] == EMPTY) continue;
+            if (map.heads[slot] < 0 || map.heads[slot] >= size || map.tails[slot] < 0 || map.tails[slot] >= size) {
+                throw new IOException("Corrupt multimap chain");
+            }
+        }
+        for (int e = 0; e < size; e++) {
+            map.values[e] = in.readLong();
+            map.next[e] = in.readInt();
+            if (map.next[e] < END || map.next[e] >= size) throw new IOException("Corrupt multimap chain");
+        }
+        map.distinct = distinct;
+        map.size = size;
+        return map;
+    }
+
+    private void resize() {
+        long[] newKeys = new long[keys.length << 1];
+        int[] newHeads = new int[newKeys.length];
+        int[] newTails = new int[newKeys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == EMPTY) continue;
+            int slot = slotOf(newKeys, keys[i]);
+            newKeys[slot] = keys[i];
+            newHeads[slot] = heads[i];
+            newTails[slot] = tails[i];
+        }
+        keys = newKeys;
+        heads = newHeads;
+        tails = newTails;
+    }
+
+    // The key's slot, or the empty slot where it would go.
+    private static int slotOf(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    private static long remap(long key) {
+        return key == EMPTY ? 1L : key;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // 64-bit FNV-1a over UTF-16 code units; collisions are filtered by the caller.
+    static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * MfaOrchestrator.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches the second factors required by a role's {@link MfaPolicy}. When the policy
+ * allows it, OTP delivery starts while the biometric check is still in flight, so a login
+ * waits for the slower of the two instead of their sum. Users enrolled in {@link TotpEngine}
+ * skip delivery entirely.
+ */
+public class MfaOrchestrator {
+
+    private record Delivery(String code, String challengeId) {
+    }
+
+    private final BiometricProvider biometricProvider;
+    private final long biometricTimeoutMs;
+    private final OtpDelivery otpDelivery;
+    private final TotpEngine totp;
+    private final OtpChallenges challenges;
+    private final Map<String, MfaPolicy> policies = new ConcurrentHashMap<>();
+
+    public MfaOrchestrator(BiometricProvider biometricProvider, long biometricTimeoutMs, OtpDelivery otpDelivery,
+                           TotpEngine totp, OtpChallenges challenges) {
+        this.biometricProvider = biometricProvider;
+        this.biometricTimeoutMs = biometricTimeoutMs;
+        this.otpDelivery = otpDelivery;
+        this.totp = totp;
+        this.challenges = challenges;
+    }
+
+    public static MfaOrchestrator fromConfig(TokenGenerator ids) {
+        TotpEngine totp = TotpEngine.fromConfig();
+        return new MfaOrchestrator(StubBiometricProvider.fromConfig(),
+                AuthConfig.getLong("biometric.timeout.ms", 5000),
+                OtpDelivery.fromConfig(),
+                totp, OtpChallenges.fromConfig(ids, totp));
+    }
+
+    public MfaPolicy policyFor(String role) {
+        return policies.computeIfAbsent(role, MfaPolicy::fromConfig);
+    }
+
+    public void setPolicy(String role, MfaPolicy policy) {
+        policies.put(role, policy);
+    }
+
+    // Authenticator-app users have nothing to deliver; their OTP is checked against TOTP instead.
+    public boolean usesTotp(String username) {
+        return totp.isEnrolled(username);
+    }
+
+    public CompletableFuture<MfaResult> begin(String username, MfaPolicy policy, String biometricSample) {
+        boolean useTotp = policy.otp() && usesTotp(username);
+        String totpChallenge = useTotp ? challenges.issueTotp(username) : null;
+        CompletableFuture<MfaResult> biometric = policy.biometric()
+                ? verifyBiometric(username, biometricSample).handle((accepted, error) ->
+                        new MfaResult(policy, Boolean.TRUE.equals(accepted), error, null, useTotp, totpChallenge))
+                : CompletableFuture.completedFuture(new MfaResult(policy, true, null, null, useTotp, totpChallenge));
+
+        CompletableFuture<MfaResult> joined;
+        if (!policy.otp() || useTotp) {
+            joined = biometric;
+        } else if (policy.parallel()) {
+            joined = biometric.thenCombine(deliverOtp(username), (result, otp) -> withOtp(result, otp));
+        } else {
+            joined = biometric.thenCompose(result -> result.biometricPassed()
+                    ? deliverOtp(username).thenApply(otp -> withOtp(result, otp))
+                    : CompletableFuture.completedFuture(result));
+        }
+        // A failed biometric ends the login; a challenge issued alongside it must not linger.
+        return joined.thenApply(result -> {
+            if (!result.biometricPassed()) challenges.cancel(result.challengeId());
+            return result;
+        });
+    }
+
+    // One attempt against the result's pending challenge; never blocks.
+    public OtpChallenges.Outcome verifyOtp(String username, MfaResult result, String input) {
+        return challenges.verify(result.challengeId(), username, input);
+    }
+
+    public int otpAttemptsLeft(MfaResult result) {
+        return challenges.attemptsLeft(result.challengeId());
+    }
+
+    private CompletableFuture<Boolean> verifyBiometric(String username, String sample) {
+        return biometricProvider.verify(username, sample)
+                .orTimeout(biometricTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Completes once the channel has taken the code; a failed delivery cancels its challenge.
+    private CompletableFuture<Delivery> deliverOtp(String username) {
+        String otp = AuthFramework.newOtp();
+        String challengeId = challenges.issue(username, otp);
+        return otpDelivery.deliver(username, otp).handle((sent, error) -> {
+            if (error == null) return new Delivery(otp, challengeId);
+            challenges.cancel(challengeId);
+            return new Delivery(null, null);
+        });
+    }
+
+    private static MfaResult withOtp(MfaResult result, Delivery delivery) {
+        return new MfaResult(result.policy(), result.biometricAccepted(), result.biometricError(),
+                delivery.code(), false, delivery.challengeId());
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * MfaPolicy.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.Locale;
+
+/**
+ * Which second factors a role must pass and whether they may run at the same time.
+ * Configured per role, e.g. mfa.Admin.factors=biometric,otp and mfa.Admin.parallel=true.
+ */
+public record MfaPolicy(boolean biometric, boolean otp, boolean parallel) {
+
+    public static final MfaPolicy DEFAULT = new MfaPolicy(true, true, true);
+
+    public static MfaPolicy fromConfig(String role) {
+        String factors = AuthConfig.getString("mfa." + role + ".factors",
+                AuthConfig.getString("mfa.default.factors", "biometric,otp")).toLowerCase(Locale.ROOT);
+        boolean parallel = Boolean.parseBoolean(AuthConfig.getString("mfa." + role + ".parallel",
+                AuthConfig.getString("mfa.default.parallel", "true")));
+
+        boolean biometric = false;
+        boolean otp = false;
+        for (String factor : factors.split(",")) {
+            switch (factor.trim()) {
+                case "biometric" -> biometric = true;
+                case "otp" -> otp = true;
+                case "", "none" -> { }
+                default -> throw new IllegalArgumentException("Unknown MFA factor for role " + role + ": " + factor);
+            }
+        }
+        return new MfaPolicy(biometric, otp, parallel);
+    }
+}
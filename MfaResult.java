@@ -0,0 +1,25 @@
+/*
+ * MfaResult.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+/**
+ * Joined outcome of the MFA factors dispatched by {@link MfaOrchestrator}.
+ * {@code challengeId} names the pending {@link OtpChallenges} entry the user must answer;
+ * {@code otp} is the code as delivered, null when none was sent: the role needs no OTP,
+ * the biometric check failed first, delivery failed, or the user answers from an
+ * authenticator app ({@code totp}).
+ */
+public record MfaResult(MfaPolicy policy, boolean biometricAccepted, Throwable biometricError, String otp,
+                        boolean totp, String challengeId) {
+
+    public boolean biometricPassed() {
+        return biometricError == null && biometricAccepted;
+    }
+}
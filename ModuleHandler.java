@@ -0,0 +1,21 @@
+/*
+ * ModuleHandler.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.PrintStream;
+
+/**
+ * Module a role is routed to after login. Returns true when the caller should continue
+ * with the forensic evidence prompts.
+ */
+public interface ModuleHandler {
+
+    boolean route(PrintStream out);
+}
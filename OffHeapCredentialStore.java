@@ -0,0 +1,344 @@
+/*
+ * OffHeapCredentialStore.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Off-heap open-addressing {@link CredentialStore} for very large user bases. A record is a
+ * fixed 96-byte slot in a direct buffer, so it costs no heap object, String key or map entry:
+ *
+ *   0  username hash (64-bit, 0 = empty)   8  iterations   12 role id   14 algorithm
+ *   15 salt length   16 salt[16]   32 digest[32]   64 name length   65 name[31]
+ *
+ * The table is split into power-of-two segments chosen by the top hash bits. Each segment has
+ * its own buffer, grows on its own, and is guarded by a StampedLock. Lookups probe linearly
+ * from the home slot under an optimistic read and usually hit at the first slot. Removal
+ * shifts later entries back instead of leaving tombstones. Records that do not fit a slot
+ * (names over 31 UTF-8 bytes, salts over 16 bytes, other digest sizes) go to an on-heap
+ * overflow map. Lockout counters are not kept in the slot: they stay in {@link LoginThrottle},
+ * which only holds keys with recent failures, so users without failures cost nothing for them.
+ *
+ * Depending on how segment sizes round to powers of two, a user held in a slot costs 96-134
+ * bytes of direct memory (a heap record costs about 230). Overflow users cost what a heap
+ * record does, plus their key, and are not counted by {@link #memoryBytes()}; size the heap
+ * for them if many names are long. 50M slot users take 5-6.5 GB, so set
+ * -XX:MaxDirectMemorySize accordingly.
+ */
+public class OffHeapCredentialStore implements CredentialStore {
+
+    static final int SLOT_BYTES = 96;
+    private static final int ITERATIONS = 8;
+    private static final int ROLE = 12;
+    private static final int ALGORITHM = 14;
+    private static final int SALT_LENGTH = 15;
+    private static final int SALT = 16;
+    private static final int DIGEST = 32;
+    private static final int NAME_LENGTH = 64;
+    private static final int NAME = 65;
+    private static final int MAX_SALT = 16;
+    private static final int DIGEST_BYTES = 32;
+    private static final int MAX_NAME = SLOT_BYTES - NAME;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final ConcurrentHashMap<String, UserRecord> overflow = new ConcurrentHashMap<>();
+
+    public OffHeapCredentialStore(int expectedUsers, int segmentCount) {
+        if (Integer.bitCount(segmentCount) != 1) throw new IllegalArgumentException("segments must be a power of two");
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        int perSegment = tableSizeFor((int) Math.min(Integer.MAX_VALUE / SLOT_BYTES,
+                (long) (expectedUsers / (double) segmentCount / LOAD_FACTOR) + 1));
+        for (int i = 0; i < segmentCount; i++) segments[i] = new Segment(perSegment);
+    }
+
+    public static OffHeapCredentialStore fromConfig() {
+        return new OffHeapCredentialStore(AuthConfig.getInt("store.expected.users", 16),
+                AuthConfig.getInt("store.offheap.segments", 256));
+    }
+
+    @Override
+    public UserRecord find(String username) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME) return overflow.get(username);
+        long hash = hash(name);
+        UserRecord found = segmentFor(hash).find(hash, name);
+        return found != null || overflow.isEmpty() ? found : overflow.get(username);
+    }
+
+    @Override
+    public void put(String username, UserRecord record) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(name);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            store(segment, username, name, hash, record);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    // Records are decoded fresh on every find, so "unchanged" means equal contents, not identity.
+    @Override
+    public boolean replace(String username, UserRecord expected, UserRecord updated) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(name);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = name.length > MAX_NAME ? -1 : segment.indexOf(hash, name);
+            UserRecord current = slot >= 0 ? segment.decode(slot) : overflow.get(username);
+            if (!sameContents(current, expected)) return false;
+            store(segment, username, name, hash, updated);
+            return true;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public UserRecord remove(String username) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(name);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = name.length > MAX_NAME ? -1 : segment.indexOf(hash, name);
+            if (slot < 0) return overflow.remove(username);
+            UserRecord removed = segment.decode(slot);
+            segment.delete(slot);
+            return removed;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long total = overflow.size();
+        for (Segment segment : segments) total += segment.count;
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    // Copies one segment at a time so the action never runs under a segment lock.
+    @Override
+    public void forEach(BiConsumer<String, UserRecord> action) {
+        List<String> names = new ArrayList<>();
+        List<UserRecord> records = new ArrayList<>();
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                for (int slot = 0; slot < segment.capacity; slot++) {
+                    if (segment.table.getLong(slot * SLOT_BYTES) == 0) continue;
+                    names.add(segment.nameAt(slot));
+                    records.add(segment.decode(slot));
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+            for (int i = 0; i < names.size(); i++) action.accept(names.get(i), records.get(i));
+            names.clear();
+            records.clear();
+        }
+        overflow.forEach(action);
+    }
+
+    // Direct memory held by the slot tables; the overflow map is on the heap.
+    public long memoryBytes() {
+        long total = 0;
+        for (Segment segment : segments) total += (long) segment.capacity * SLOT_BYTES;
+        return total;
+    }
+
+    private void store(Segment segment, String username, byte[] name, long hash, UserRecord record) {
+        if (fits(name, record)) {
+            segment.put(hash, name, record);
+            if (!overflow.isEmpty()) overflow.remove(username);
+        } else {
+            int slot = name.length > MAX_NAME ? -1 : segment.indexOf(hash, name);
+            if (slot >= 0) segment.delete(slot);
+            overflow.put(username, record);
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 48) & segmentMask];
+    }
+
+    private static boolean fits(byte[] name, UserRecord record) {
+        CredentialHash credential = record.credential();
+        return name.length <= MAX_NAME
+                && credential.salt().length <= MAX_SALT
+                && credential.hash().length == DIGEST_BYTES
+                && record.roleId() >= Short.MIN_VALUE && record.roleId() <= Short.MAX_VALUE;
+    }
+
+    private static boolean sameContents(UserRecord a, UserRecord b) {
+        if (a == null || b == null) return a == b;
+        return a.roleId() == b.roleId() && a.credential().sameAs(b.credential());
+    }
+
+    // FNV-1a over the UTF-8 bytes with a murmur finalizer; 0 is reserved for empty slots.
+    static long hash(byte[] name) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : name) h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    private static int tableSizeFor(int n) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, n - 1)) << 1);
+    }
+
+    private static final class Segment {
+        final StampedLock lock = new StampedLock();
+        ByteBuffer table;
+        int capacity;
+        volatile int count;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.table = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+        }
+
+        UserRecord find(long hash, byte[] name) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    int slot = indexOf(hash, name);
+                    UserRecord found = slot < 0 ? null : decode(slot);
+                    if (lock.validate(stamp)) return found;
+                } catch (RuntimeException torn) {
+                    // A concurrent resize or shift; fall through to a locked read.
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                int slot = indexOf(hash, name);
+                return slot < 0 ? null : decode(slot);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int indexOf(long hash, byte[] name) {
+            ByteBuffer t = table;
+            int mask = t.capacity() / SLOT_BYTES - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                int base = slot * SLOT_BYTES;
+                long stored = t.getLong(base);
+                if (stored == 0) return -1;
+                if (stored == hash && nameEquals(t, base, name)) return slot;
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        void put(long hash, byte[] name, UserRecord record) {
+            int slot = indexOf(hash, name);
+            if (slot < 0) {
+                if (count + 1 > capacity * LOAD_FACTOR) grow();
+                slot = (int) hash & (capacity - 1);
+                while (table.getLong(slot * SLOT_BYTES) != 0) slot = (slot + 1) & (capacity - 1);
+                count++;
+            }
+            write(table, slot * SLOT_BYTES, hash, name, record);
+        }
+
+        // Backward-shift deletion keeps every probe chain unbroken without tombstones.
+        void delete(int hole) {
+            int mask = capacity - 1;
+            int next = hole;
+            while (true) {
+                next = (next + 1) & mask;
+                long stored = table.getLong(next * SLOT_BYTES);
+                if (stored == 0) break;
+                int home = (int) stored & mask;
+                boolean movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+                if (movable) {
+                    table.put(hole * SLOT_BYTES, table, next * SLOT_BYTES, SLOT_BYTES);
+                    hole = next;
+                }
+            }
+            table.putLong(hole * SLOT_BYTES, 0);
+            count--;
+        }
+
+        UserRecord decode(int slot) {
+            ByteBuffer t = table;
+            int base = slot * SLOT_BYTES;
+            byte[] salt = new byte[Math.min(MAX_SALT, Byte.toUnsignedInt(t.get(base + SALT_LENGTH)))];
+            t.get(base + SALT, salt);
+            byte[] digest = new byte[DIGEST_BYTES];
+            t.get(base + DIGEST, digest);
+            CredentialHash credential = new CredentialHash(CredentialHash.algorithmForCode(t.get(base + ALGORITHM)),
+                    t.getInt(base + ITERATIONS), salt, digest);
+            return UserRecord.of(credential, t.getShort(base + ROLE));
+        }
+
+        String nameAt(int slot) {
+            int base = slot * SLOT_BYTES;
+            byte[] name = new byte[Byte.toUnsignedInt(table.get(base + NAME_LENGTH))];
+            table.get(base + NAME, name);
+            return new String(name, StandardCharsets.UTF_8);
+        }
+
+        private void grow() {
+            int newCapacity = capacity << 1;
+            if ((long) newCapacity * SLOT_BYTES > Integer.MAX_VALUE) throw new IllegalStateException("segment full");
+            ByteBuffer grown = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES);
+            int mask = newCapacity - 1;
+            for (int slot = 0; slot < capacity; slot++) {
+                long stored = table.getLong(slot * SLOT_BYTES);
+                if (stored == 0) continue;
+                int target = (int) stored & mask;
+                while (grown.getLong(target * SLOT_BYTES) != 0) target = (target + 1) & mask;
+                grown.put(target * SLOT_BYTES, table, slot * SLOT_BYTES, SLOT_BYTES);
+            }
+            table = grown;
+            capacity = newCapacity;
+        }
+
+        private static void write(ByteBuffer t, int base, long hash, byte[] name, UserRecord record) {
+            CredentialHash credential = record.credential();
+            t.putLong(base, hash);
+            t.putInt(base + ITERATIONS, credential.iterations());
+            t.putShort(base + ROLE, (short) record.roleId());
+            t.put(base + ALGORITHM, (byte) CredentialHash.algorithmCode(credential.algorithm()));
+            t.put(base + SALT_LENGTH, (byte) credential.salt().length);
+            t.put(base + SALT, credential.salt());
+            t.put(base + DIGEST, credential.hash());
+            t.put(base + NAME_LENGTH, (byte) name.length);
+            t.put(base + NAME, name);
+        }
+
+        private static boolean nameEquals(ByteBuffer t, int base, byte[] name) {
+            if (Byte.toUnsignedInt(t.get(base + NAME_LENGTH)) != name.length) return false;
+            for (int i = 0; i < name.length; i++) {
+                if (t.get(base + NAME + i) != name[i]) return false;
+            }
+            return true;
+        }
+    }
+}
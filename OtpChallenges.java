@@ -0,0 +1,155 @@
+/*
+ * OtpChallenges.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.security.MessageDigest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outstanding OTP challenges: challenge id → (user, hashed code, attempts left, expiry).
+ * Issuing and verifying are separate non-blocking calls, so nothing waits while the user
+ * reads the code; expiry is driven by one sweeper over a {@link HierarchicalTimerWheel}.
+ *
+ * Only SHA-256(challenge id ":" code) is kept. Challenges for authenticator-app users carry
+ * no hash and are checked against {@link TotpEngine}, but share the same attempt budget.
+ */
+public class OtpChallenges {
+
+    public enum Outcome { VERIFIED, INCORRECT, EXHAUSTED, EXPIRED }
+
+    private static final class Challenge {
+        final String id;
+        final String username;
+        final byte[] codeHash;
+        final long expiresAtMs;
+        final AtomicInteger attemptsLeft;
+
+        Challenge(String id, String username, byte[] codeHash, long expiresAtMs, int attempts) {
+            this.id = id;
+            this.username = username;
+            this.codeHash = codeHash;
+            this.expiresAtMs = expiresAtMs;
+            this.attemptsLeft = new AtomicInteger(attempts);
+        }
+    }
+
+    private final ConcurrentHashMap<String, Challenge> pending = new ConcurrentHashMap<>();
+    private final HierarchicalTimerWheel<Challenge> wheel;
+    private final TokenGenerator ids;
+    private final TotpEngine totp;
+    private final long ttlMs;
+    private final int maxAttempts;
+    private final ScheduledExecutorService sweeper;
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public OtpChallenges(TokenGenerator ids, TotpEngine totp, long ttlMs, int maxAttempts, long tickMs) {
+        if (ttlMs < 1 || maxAttempts < 1) throw new IllegalArgumentException("Invalid OTP challenge settings.");
+        this.ids = ids;
+        this.totp = totp;
+        this.ttlMs = ttlMs;
+        this.maxAttempts = maxAttempts;
+        this.wheel = new HierarchicalTimerWheel<>(tickMs, System.currentTimeMillis());
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "otp-challenge-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleAtFixedRate(() -> wheel.advance(System.currentTimeMillis(), this::expire),
+                tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static OtpChallenges fromConfig(TokenGenerator ids, TotpEngine totp) {
+        return new OtpChallenges(ids, totp,
+                AuthConfig.getLong("otp.challenge.ttl.ms", 5 * 60_000),
+                AuthConfig.getInt("otp.challenge.max.attempts", 3),
+                AuthConfig.getLong("otp.challenge.tick.ms", 100));
+    }
+
+    // Registers a delivered code; the plaintext is not retained.
+    public String issue(String username, String code) {
+        String id = ids.next();
+        return register(id, username, Sha256Hasher.digest(id + ":" + code));
+    }
+
+    // Registers a challenge answered from the user's authenticator app.
+    public String issueTotp(String username) {
+        return register(ids.next(), username, null);
+    }
+
+    public Outcome verify(String challengeId, String username, String input) {
+        Challenge challenge = challengeId == null ? null : pending.get(challengeId);
+        if (challenge == null || !challenge.username.equals(username)) return Outcome.EXPIRED;
+        if (challenge.expiresAtMs <= System.currentTimeMillis()) {
+            pending.remove(challengeId, challenge);
+            return Outcome.EXPIRED;
+        }
+        if (challenge.attemptsLeft.getAndDecrement() <= 0) return Outcome.EXHAUSTED;
+
+        boolean matched = challenge.codeHash == null
+                ? totp.verify(username, input)
+                : MessageDigest.isEqual(Sha256Hasher.digest(challengeId + ":" + input), challenge.codeHash);
+        if (matched) {
+            return pending.remove(challengeId, challenge) ? Outcome.VERIFIED : Outcome.EXPIRED;
+        }
+        if (challenge.attemptsLeft.get() <= 0) {
+            pending.remove(challengeId, challenge);
+            return Outcome.EXHAUSTED;
+        }
+        return Outcome.INCORRECT;
+    }
+
+    // Drops a challenge whose code never reached the user; its wheel entry later finds nothing.
+    public boolean cancel(String challengeId) {
+        return challengeId != null && pending.remove(challengeId) != null;
+    }
+
+    public int attemptsLeft(String challengeId) {
+        Challenge challenge = pending.get(challengeId);
+        return challenge == null ? 0 : Math.max(0, challenge.attemptsLeft.get());
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public long issuedCount() {
+        return issued.sum();
+    }
+
+    public long expiredCount() {
+        return expired.sum();
+    }
+
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private String register(String id, String username, byte[] codeHash) {
+        Challenge challenge = new Challenge(id, username, codeHash, System.currentTimeMillis() + ttlMs, maxAttempts);
+        pending.put(id, challenge);
+        wheel.schedule(challenge, challenge.expiresAtMs);
+        issued.increment();
+        return id;
+    }
+
+    private void expire(Challenge challenge) {
+        if (pending.remove(challenge.id, challenge)) expired.increment();
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * OtpChannel.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Provider side of OTP delivery (SMS gateway, mail relay, push service). Called from
+ * {@link OtpDelivery}'s sender threads with coalesced batches; may block on I/O. Throwing
+ * fails the whole batch, which is then retried with backoff.
+ */
+public interface OtpChannel {
+
+    void sendBatch(List<OtpMessage> batch) throws IOException;
+}
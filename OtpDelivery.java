@@ -0,0 +1,205 @@
+/*
+ * OtpDelivery.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous, batching OTP delivery over an {@link OtpChannel}. A dispatcher thread
+ * coalesces queued codes until the batch is full or the first one has waited lingerMs,
+ * then hands the batch to a sender thread, so a login spike costs one provider round trip
+ * per batch instead of one per code.
+ *
+ * At most maxInFlight codes may be queued or sending; beyond that deliver() fails fast
+ * instead of queueing without bound. A failed batch is retried up to maxAttempts times
+ * with exponential backoff and equal jitter, so a provider outage is not hit in lockstep.
+ */
+public class OtpDelivery {
+
+    private static final Logger logger = Logger.getLogger(OtpDelivery.class.getName());
+
+    private record Pending(OtpMessage message, CompletableFuture<Void> result) {
+    }
+
+    private final OtpChannel channel;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+    private final long retryMaxMs;
+    private final Semaphore inFlight;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService senders;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public OtpDelivery(OtpChannel channel, int batchSize, long lingerMs, int maxInFlight, int senderThreads,
+                       int maxAttempts, long retryBaseMs, long retryMaxMs) {
+        if (batchSize < 1 || lingerMs < 0 || maxInFlight < 1 || senderThreads < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Invalid OTP delivery settings.");
+        }
+        this.channel = channel;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMs = retryBaseMs;
+        this.retryMaxMs = Math.max(retryBaseMs, retryMaxMs);
+        this.inFlight = new Semaphore(maxInFlight);
+        AtomicInteger ids = new AtomicInteger();
+        this.senders = Executors.newScheduledThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "otp-sender-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.dispatcher = new Thread(this::runDispatcher, "otp-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    public static OtpDelivery fromConfig() {
+        return new OtpDelivery(StubOtpChannel.fromConfig(),
+                AuthConfig.getInt("otp.delivery.batch.size", 100),
+                AuthConfig.getLong("otp.delivery.linger.ms", 20),
+                AuthConfig.getInt("otp.delivery.max.inflight", 10_000),
+                AuthConfig.getInt("otp.delivery.senders", 2),
+                AuthConfig.getInt("otp.delivery.retry.max.attempts", 4),
+                AuthConfig.getLong("otp.delivery.retry.base.ms", 100),
+                AuthConfig.getLong("otp.delivery.retry.max.ms", 5000));
+    }
+
+    // Completes once the channel has accepted the code; fails fast when too many are in flight.
+    public CompletableFuture<Void> deliver(String username, String code) {
+        if (closed || !inFlight.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("OTP delivery is saturated."));
+        }
+        Pending pending = new Pending(new OtpMessage(username, code, System.currentTimeMillis()), new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result();
+    }
+
+    public long deliveredCount() {
+        return delivered.sum();
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    public long retryCount() {
+        return retries.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        senders.shutdown();
+    }
+
+    private void runDispatcher() {
+        while (!closed || !queue.isEmpty()) {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts to flush what is queued without lingering.
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) senders.execute(() -> send(batch, 1));
+        }
+    }
+
+    private void send(List<Pending> batch, int attempt) {
+        List<OtpMessage> messages = new ArrayList<>(batch.size());
+        for (Pending pending : batch) messages.add(pending.message());
+        try {
+            channel.sendBatch(messages);
+        } catch (IOException | RuntimeException e) {
+            if (attempt < maxAttempts && !senders.isShutdown()) {
+                retries.increment();
+                senders.schedule(() -> send(batch, attempt + 1), backoffMs(attempt), TimeUnit.MILLISECONDS);
+            } else {
+                logger.log(Level.WARNING, "OTP batch of " + batch.size() + " failed after " + attempt + " attempts.", e);
+                failed.add(batch.size());
+                complete(batch, e);
+            }
+            return;
+        }
+        batches.increment();
+        delivered.add(batch.size());
+        complete(batch, null);
+    }
+
+    // Half the exponential step is fixed, the other half random.
+    private long backoffMs(int attempt) {
+        long step = Math.min(retryMaxMs, retryBaseMs << Math.min(attempt - 1, 20));
+        return step / 2 + ThreadLocalRandom.current().nextLong(step / 2 + 1);
+    }
+
+    private void complete(List<Pending> batch, Throwable error) {
+        inFlight.release(batch.size());
+        for (Pending pending : batch) {
+            if (error == null) {
+                pending.result().complete(null);
+            } else {
+                pending.result().completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * OtpMessage.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+/**
+ * One outbound code handed to an {@link OtpChannel}.
+ */
+public record OtpMessage(String username, String code, long createdAtMs) {
+}
@@ -0,0 +1,26 @@
+/*
+ * PasswordHasher.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+/**
+ * PIN hashing scheme. {@link #verify} must honour the parameters stored in the
+ * credential rather than this hasher's own, so older records keep verifying.
+ */
+public interface PasswordHasher {
+
+    String algorithm();
+
+    CredentialHash hash(String pin);
+
+    boolean verify(String pin, CredentialHash stored);
+
+    // True when stored was produced with weaker parameters than this hasher uses.
+    boolean needsUpgrade(CredentialHash stored);
+}
@@ -0,0 +1,84 @@
+/*
+ * Pbkdf2Hasher.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256 from the JDK. The iteration count is the work factor;
+ * verification uses the count stored with each record.
+ */
+public class Pbkdf2Hasher implements PasswordHasher {
+
+    public static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    // Beyond the maximum a single verify holds a core for seconds.
+    public static final int MIN_ITERATIONS = 1;
+    public static final int MAX_ITERATIONS = 10_000_000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom SALTS = new SecureRandom();
+    private static final ThreadLocal<SecretKeyFactory> FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    });
+
+    private final int iterations;
+
+    public Pbkdf2Hasher(int iterations) {
+        if (iterations < MIN_ITERATIONS || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("Iterations must be between " + MIN_ITERATIONS + " and " + MAX_ITERATIONS + ".");
+        }
+        this.iterations = iterations;
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    @Override
+    public String algorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public CredentialHash hash(String pin) {
+        byte[] salt = new byte[SALT_BYTES];
+        SALTS.nextBytes(salt);
+        return new CredentialHash(ALGORITHM, iterations, salt, derive(pin, salt, iterations));
+    }
+
+    @Override
+    public boolean verify(String pin, CredentialHash stored) {
+        return MessageDigest.isEqual(derive(pin, stored.salt(), stored.iterations()), stored.hash());
+    }
+
+    @Override
+    public boolean needsUpgrade(CredentialHash stored) {
+        return !ALGORITHM.equals(stored.algorithm()) || stored.iterations() < iterations;
+    }
+
+    private static byte[] derive(String pin, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(pin.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return FACTORY.get().generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 derivation failed", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,551 @@
+/*
+ * PersistentCredentialStore.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Durable {@link CredentialStore}: an in-memory store in front of a write-ahead log plus
+ * periodic binary snapshots in one directory.
+ *
+ * Every change is appended to the WAL and then applied, under one lock, so log order is
+ * apply order and memory never holds a change the log lacks. WAL records are [len][crc32][type, seq, user, role name, credential]; replay stops
+ * at the first torn or corrupt record. A snapshot rotates the WAL at sequence S, then writes
+ * the live records to snapshot-S.snap in sections of 64k. A trailer holds the role table and
+ * the section offsets and is written last, so a snapshot without it is ignored. Writes
+ * during a snapshot may or may not be in it. They are also in the new WAL segment, and
+ * records are whole values, so replaying after S restores them either way.
+ *
+ * Startup maps the newest complete snapshot section by section and decodes the sections in
+ * parallel. Then it replays only the WAL records newer than S: no re-hashing, no text parsing.
+ */
+public class PersistentCredentialStore implements CredentialStore {
+
+    private static final Logger logger = Logger.getLogger(PersistentCredentialStore.class.getName());
+
+    private static final byte WAL_PUT = 1;
+    private static final byte WAL_REMOVE = 2;
+    private static final int SNAPSHOT_MAGIC = 0x41435331;
+    private static final int RECORDS_PER_SECTION = 1 << 16;
+    private static final String WAL_PREFIX = "wal-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private final CredentialStore memory;
+    private final RoleRegistry roles;
+    private final Path dir;
+    private final boolean fsync;
+    private final int loadThreads;
+    private final Object walLock = new Object();
+    private final ByteBuffer walBuffer = ByteBuffer.allocateDirect(1 << 20);
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService background;
+    private FileChannel wal;
+    private long lastSeq;
+    private long walRecords;
+
+    private PersistentCredentialStore(Path dir, CredentialStore memory, RoleRegistry roles, boolean fsync, int loadThreads) {
+        this.dir = dir;
+        this.memory = memory;
+        this.roles = roles;
+        this.fsync = fsync;
+        this.loadThreads = Math.max(1, loadThreads);
+        this.background = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "credential-store");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static PersistentCredentialStore open(Path dir, CredentialStore memory, RoleRegistry roles, boolean fsync,
+                                                 long snapshotIntervalMs, int loadThreads) throws IOException {
+        Files.createDirectories(dir);
+        PersistentCredentialStore store = new PersistentCredentialStore(dir, memory, roles, fsync, loadThreads);
+        store.recover();
+        store.background.scheduleWithFixedDelay(store::flushQuietly, 50, 50, TimeUnit.MILLISECONDS);
+        if (snapshotIntervalMs > 0) {
+            store.background.scheduleWithFixedDelay(store::snapshotQuietly, snapshotIntervalMs, snapshotIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+        return store;
+    }
+
+    public static PersistentCredentialStore fromConfig(CredentialStore memory, RoleRegistry roles) throws IOException {
+        return open(Path.of(AuthConfig.getString("store.dir", "credential_store")), memory, roles,
+                AuthConfig.getString("store.wal.durability", "buffered").equalsIgnoreCase("fsync"),
+                AuthConfig.getLong("store.snapshot.interval.ms", 10 * 60_000),
+                AuthConfig.getInt("store.load.threads", Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public UserRecord find(String username) {
+        return memory.find(username);
+    }
+
+    @Override
+    public void put(String username, UserRecord record) {
+        synchronized (walLock) {
+            appendPut(username, record);
+            memory.put(username, record);
+        }
+    }
+
+    @Override
+    public boolean replace(String username, UserRecord expected, UserRecord updated) {
+        // Every write to memory holds walLock, so the record cannot change between the check and the put.
+        synchronized (walLock) {
+            UserRecord current = memory.find(username);
+            if (current == null || expected == null || current.roleId() != expected.roleId()
+                    || !current.credential().sameAs(expected.credential())) {
+                return false;
+            }
+            appendPut(username, updated);
+            memory.put(username, updated);
+            return true;
+        }
+    }
+
+    @Override
+    public UserRecord remove(String username) {
+        synchronized (walLock) {
+            if (memory.find(username) == null) return null;
+            appendRemove(username);
+            return memory.remove(username);
+        }
+    }
+
+    @Override
+    public int size() {
+        return memory.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, UserRecord> action) {
+        memory.forEach(action);
+    }
+
+    public long lastSequence() {
+        synchronized (walLock) {
+            return lastSeq;
+        }
+    }
+
+    // Writes snapshot-S.snap for the current WAL position S and drops the files it supersedes.
+    public void snapshot() throws IOException {
+        long cut;
+        synchronized (walLock) {
+            flushWal();
+            cut = lastSeq;
+            if (walRecords == 0 && Files.exists(snapshotPath(cut))) return;
+            openWal(cut + 1);
+        }
+        Path tmp = dir.resolve(SNAPSHOT_PREFIX + "tmp");
+        writeSnapshot(tmp, cut);
+        Files.move(tmp, snapshotPath(cut), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path old : list(SNAPSHOT_PREFIX)) if (sequenceOf(old) < cut) Files.deleteIfExists(old);
+        for (Path old : list(WAL_PREFIX)) if (sequenceOf(old) <= cut) Files.deleteIfExists(old);
+    }
+
+    public void close() {
+        background.shutdownNow();
+        synchronized (walLock) {
+            try {
+                flushWal();
+                wal.force(true);
+                wal.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to close credential WAL.", e);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        long snapshotSeq = 0;
+        List<Path> snapshots = list(SNAPSHOT_PREFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try {
+                loadSnapshot(snapshots.get(i));
+                snapshotSeq = sequenceOf(snapshots.get(i));
+                break;
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Skipping unreadable snapshot " + snapshots.get(i), e);
+                clearMemory();
+            }
+        }
+        lastSeq = snapshotSeq;
+        long replayed = 0;
+        // replay() fails on a sequence gap, so an older snapshot whose WAL was already dropped is not enough.
+        for (Path segment : list(WAL_PREFIX)) replayed += replay(segment, snapshotSeq);
+        openWal(lastSeq + 1);
+        logger.log(Level.INFO, "Credential store recovered {0} users (snapshot {1}, {2} WAL records) in {3} ms",
+                new Object[]{memory.size(), snapshotSeq, replayed, (System.nanoTime() - start) / 1_000_000});
+    }
+
+    // Drops whatever a failed snapshot load left behind.
+    private void clearMemory() {
+        List<String> loaded = new ArrayList<>(memory.size());
+        memory.forEach((username, record) -> loaded.add(username));
+        for (String username : loaded) memory.remove(username);
+    }
+
+    // ---- WAL ----
+
+    private void appendPut(String username, UserRecord record) {
+        CredentialHash credential = record.credential();
+        byte[] user = encode(username, 0xFFFF);
+        String roleName = roles.nameOf(record.roleId());
+        byte[] role = encode(roleName == null ? "" : roleName, 0xFF);
+        int payload = 1 + 8 + 2 + user.length + 1 + role.length + 1 + 4
+                + 1 + credential.salt().length + 1 + credential.hash().length;
+        ByteBuffer out = beginRecord(payload);
+        out.put(WAL_PUT).putLong(++lastSeq);
+        out.putShort((short) user.length).put(user);
+        out.put((byte) role.length).put(role);
+        putCredential(out, credential);
+        endRecord(out, payload);
+    }
+
+    private void appendRemove(String username) {
+        byte[] user = encode(username, 0xFFFF);
+        int payload = 1 + 8 + 2 + user.length;
+        ByteBuffer out = beginRecord(payload);
+        out.put(WAL_REMOVE).putLong(++lastSeq);
+        out.putShort((short) user.length).put(user);
+        endRecord(out, payload);
+    }
+
+    private ByteBuffer beginRecord(int payload) {
+        if (walBuffer.remaining() < payload + 8) flushWal();
+        ByteBuffer out = walBuffer.remaining() >= payload + 8 ? walBuffer : ByteBuffer.allocate(payload + 8);
+        out.putInt(payload).putInt(0);
+        return out;
+    }
+
+    private void endRecord(ByteBuffer out, int payload) {
+        int start = out.position() - payload;
+        crc.reset();
+        crc.update(out.duplicate().position(start).limit(start + payload));
+        out.putInt(start - 4, (int) crc.getValue());
+        walRecords++;
+        if (out != walBuffer) {
+            writeFully(out.flip());
+        } else if (fsync) {
+            flushWal();
+        }
+    }
+
+    private void flushWal() {
+        if (walBuffer.position() == 0) return;
+        walBuffer.flip();
+        writeFully(walBuffer);
+        walBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) {
+        try {
+            while (buffer.hasRemaining()) wal.write(buffer);
+            if (fsync) wal.force(false);
+        } catch (IOException e) {
+            throw new IllegalStateException("Credential WAL write failed", e);
+        }
+    }
+
+    private void flushQuietly() {
+        synchronized (walLock) {
+            try {
+                flushWal();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Failed to flush credential WAL.", e);
+            }
+        }
+    }
+
+    private void openWal(long firstSeq) {
+        try {
+            if (wal != null) {
+                flushWal();
+                wal.force(true);
+                wal.close();
+            }
+            wal = FileChannel.open(dir.resolve(String.format("%s%020d.log", WAL_PREFIX, firstSeq)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            walRecords = 0;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open credential WAL", e);
+        }
+    }
+
+    private long replay(Path segment, long afterSeq) throws IOException {
+        long applied = 0;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size == 0) return 0;
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 check = new CRC32();
+            while (in.remaining() >= 8) {
+                int start = in.position();
+                int payload = in.getInt();
+                int expected = in.getInt();
+                if (payload <= 0 || payload > in.remaining()) {
+                    in.position(start);
+                    break;
+                }
+                check.reset();
+                check.update(in.duplicate().limit(in.position() + payload));
+                if ((int) check.getValue() != expected) {
+                    in.position(start);
+                    break;
+                }
+                int next = in.position() + payload;
+                byte type = in.get();
+                long seq = in.getLong();
+                if (seq > afterSeq && seq != lastSeq + 1) {
+                    throw new IOException("Credential WAL " + segment + " jumps from sequence " + lastSeq + " to " + seq);
+                }
+                String username = readString(in, Short.toUnsignedInt(in.getShort()));
+                if (type == WAL_PUT) {
+                    int roleId = roles.intern(readString(in, Byte.toUnsignedInt(in.get())));
+                    CredentialHash credential = readCredential(in);
+                    if (seq > afterSeq) memory.put(username, UserRecord.of(credential, roleId));
+                } else if (type == WAL_REMOVE && seq > afterSeq) {
+                    memory.remove(username);
+                }
+                if (seq > afterSeq) applied++;
+                lastSeq = Math.max(lastSeq, seq);
+                in.position(next);
+            }
+            if (in.position() < size) {
+                logger.log(Level.WARNING, "Truncating torn tail of {0} at byte {1}", new Object[]{segment, in.position()});
+                channel.truncate(in.position());
+            }
+        }
+        return applied;
+    }
+
+    // ---- snapshots ----
+
+    private void writeSnapshot(Path file, long cut) throws IOException {
+        List<long[]> sections = new ArrayList<>();
+        long[] count = {0};
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CountingOutput counter = new CountingOutput(Channels.newOutputStream(channel));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(counter, 1 << 20));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(cut);
+            IOException[] failure = {null};
+            memory.forEach((username, record) -> {
+                if (failure[0] != null) return;
+                try {
+                    if (count[0] % RECORDS_PER_SECTION == 0) {
+                        out.flush();
+                        sections.add(new long[] {counter.written, 0});
+                    }
+                    writeRecord(out, username, record);
+                    sections.get(sections.size() - 1)[1]++;
+                    count[0]++;
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+            out.flush();
+            long trailer = counter.written;
+            int roleCount = roles.size();
+            out.writeInt(roleCount);
+            for (int id = 0; id < roleCount; id++) {
+                byte[] name = encode(roles.nameOf(id), 0xFF);
+                out.writeByte(name.length);
+                out.write(name);
+            }
+            out.writeInt(sections.size());
+            for (long[] section : sections) {
+                out.writeLong(section[0]);
+                out.writeInt((int) section[1]);
+            }
+            out.writeLong(count[0]);
+            out.writeLong(trailer);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, String username, UserRecord record) throws IOException {
+        byte[] user = encode(username, 0xFFFF);
+        CredentialHash credential = record.credential();
+        out.writeShort(user.length);
+        out.write(user);
+        out.writeShort(record.roleId());
+        out.writeByte(CredentialHash.algorithmCode(credential.algorithm()));
+        out.writeInt(credential.iterations());
+        out.writeByte(credential.salt().length);
+        out.write(credential.salt());
+        out.writeByte(credential.hash().length);
+        out.write(credential.hash());
+    }
+
+    private void loadSnapshot(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, size - 20, 20);
+            long count = tail.getLong();
+            long trailer = tail.getLong();
+            if (tail.getInt() != SNAPSHOT_MAGIC) throw new IOException("Incomplete snapshot");
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, trailer, size - 20 - trailer);
+
+            int roleCount = index.getInt();
+            int[] roleIds = new int[roleCount];
+            for (int i = 0; i < roleCount; i++) roleIds[i] = roles.intern(readString(index, Byte.toUnsignedInt(index.get())));
+
+            int sectionCount = index.getInt();
+            long[] offsets = new long[sectionCount + 1];
+            int[] records = new int[sectionCount];
+            for (int i = 0; i < sectionCount; i++) {
+                offsets[i] = index.getLong();
+                records[i] = index.getInt();
+            }
+            offsets[sectionCount] = trailer;
+
+            ExecutorService loaders = Executors.newFixedThreadPool(loadThreads);
+            try {
+                List<Future<?>> pending = new ArrayList<>();
+                for (int i = 0; i < sectionCount; i++) {
+                    MappedByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, offsets[i], offsets[i + 1] - offsets[i]);
+                    int n = records[i];
+                    pending.add(loaders.submit(() -> decodeSection(section, n, roleIds)));
+                }
+                for (Future<?> future : pending) future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading snapshot", e);
+            } catch (java.util.concurrent.ExecutionException e) {
+                throw new IOException("Corrupt snapshot section", e.getCause());
+            } finally {
+                loaders.shutdown();
+            }
+            if (memory.size() < count) throw new IOException("Snapshot holds fewer records than its trailer claims");
+        }
+    }
+
+    private void decodeSection(ByteBuffer in, int records, int[] roleIds) {
+        for (int i = 0; i < records; i++) {
+            String username = readString(in, Short.toUnsignedInt(in.getShort()));
+            int storedRole = Short.toUnsignedInt(in.getShort());
+            CredentialHash credential = readCredential(in);
+            int roleId = storedRole < roleIds.length ? roleIds[storedRole] : RoleRegistry.UNKNOWN;
+            memory.put(username, UserRecord.of(credential, roleId));
+        }
+    }
+
+    // ---- encoding helpers ----
+
+    // Names are written with a one- or two-byte length; refuse rather than truncate.
+    private static byte[] encode(String name, int maxBytes) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException("Name longer than " + maxBytes + " bytes: " + name);
+        }
+        return bytes;
+    }
+
+    private static void putCredential(ByteBuffer out, CredentialHash credential) {
+        out.put((byte) CredentialHash.algorithmCode(credential.algorithm()));
+        out.putInt(credential.iterations());
+        out.put((byte) credential.salt().length).put(credential.salt());
+        out.put((byte) credential.hash().length).put(credential.hash());
+    }
+
+    private static CredentialHash readCredential(ByteBuffer in) {
+        String algorithm = CredentialHash.algorithmForCode(in.get());
+        int iterations = in.getInt();
+        byte[] salt = new byte[Byte.toUnsignedInt(in.get())];
+        in.get(salt);
+        byte[] hash = new byte[Byte.toUnsignedInt(in.get())];
+        in.get(hash);
+        return new CredentialHash(algorithm, iterations, salt, hash);
+    }
+
+    private static String readString(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Path snapshotPath(long seq) {
+        return dir.resolve(String.format("%s%020d.snap", SNAPSHOT_PREFIX, seq));
+    }
+
+    private List<Path> list(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(prefix) && Character.isDigit(name.charAt(prefix.length()));
+            }).sorted().toList();
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        int dash = name.indexOf('-');
+        return Long.parseLong(name.substring(dash + 1, name.indexOf('.', dash)));
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Credential snapshot failed.", e);
+        }
+    }
+
+    private static final class CountingOutput extends java.io.FilterOutputStream {
+        long written;
+
+        CountingOutput(java.io.OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written += len;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * RoleHierarchy.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Role inheritance DAG ("Admin inherits Guest") with the transitive closure stored per role
+ * as a sorted int[] of role ids, the role itself included. Resolving a role's effective roles
+ * is one array load; no graph walk happens on the request path.
+ *
+ * Adding or removing an edge recomputes only the changed role and the roles that inherit
+ * it, parents before children, and then publishes a new closure table. Edges that would
+ * form a cycle are rejected. Config: role.<Role>.inherits=Guest,Other.
+ */
+public class RoleHierarchy {
+
+    private static final Logger logger = Logger.getLogger(RoleHierarchy.class.getName());
+    private static final int[] NONE = new int[0];
+
+    private int[][] parents = new int[0][];
+    private int[][] children = new int[0][];
+    private volatile int[][] closure = new int[0][];
+    private volatile Runnable onChange = () -> { };
+
+    // Edges are loaded first and the closure computed once; roles caught in a cycle lose those edges.
+    public static RoleHierarchy fromConfig(RoleRegistry roles) {
+        RoleHierarchy hierarchy = new RoleHierarchy();
+        hierarchy.ensureCapacity(roles.size());
+        for (int roleId = 0; roleId < roles.size(); roleId++) {
+            String role = roles.nameOf(roleId);
+            String inherited = AuthConfig.getString("role." + role + ".inherits", role.equals("Admin") ? "Guest" : "");
+            for (String name : inherited.split(",")) {
+                if (name.isBlank()) continue;
+                int parent = roles.idOf(name.trim());
+                if (parent == RoleRegistry.UNKNOWN || parent == roleId) {
+                    logger.log(Level.WARNING, "Ignoring role.{0}.inherits entry {1}.", new Object[]{role, name.trim()});
+                } else if (!contains(hierarchy.parents[roleId], parent)) {
+                    hierarchy.link(roleId, parent);
+                }
+            }
+        }
+        synchronized (hierarchy) {
+            BitSet all = new BitSet();
+            all.set(0, hierarchy.parents.length);
+            BitSet cyclic = hierarchy.recompute(all);
+            if (!cyclic.isEmpty()) {
+                BitSet core = hierarchy.cycleCore(cyclic);
+                logger.log(Level.WARNING, "Role inheritance cycle among role ids {0}; dropping those edges.", core);
+                for (int r = core.nextSetBit(0); r >= 0; r = core.nextSetBit(r + 1)) {
+                    for (int parent : hierarchy.parents[r]) if (core.get(parent)) hierarchy.unlink(r, parent);
+                }
+                hierarchy.recompute(cyclic);
+            }
+        }
+        return hierarchy;
+    }
+
+    // Called after every published change, e.g. to invalidate cached permission sets.
+    public void setListener(Runnable listener) {
+        this.onChange = listener;
+    }
+
+    // Effective roles of roleId, itself included, in ascending order. Callers must not modify the array.
+    public int[] closure(int roleId) {
+        int[][] table = closure;
+        if (roleId >= 0 && roleId < table.length && table[roleId] != null) return table[roleId];
+        return roleId < 0 ? NONE : new int[] {roleId};
+    }
+
+    public boolean includes(int roleId, int otherRoleId) {
+        return Arrays.binarySearch(closure(roleId), otherRoleId) >= 0;
+    }
+
+    public synchronized void addInheritance(int roleId, int inheritedRoleId) {
+        if (roleId < 0 || inheritedRoleId < 0) throw new IllegalArgumentException("Invalid role id.");
+        if (includes(inheritedRoleId, roleId)) throw new IllegalArgumentException("inheritance would form a cycle");
+        ensureCapacity(Math.max(roleId, inheritedRoleId) + 1);
+        if (contains(parents[roleId], inheritedRoleId)) return;
+        link(roleId, inheritedRoleId);
+        recomputeFrom(roleId);
+    }
+
+    public synchronized void removeInheritance(int roleId, int inheritedRoleId) {
+        if (roleId < 0 || roleId >= parents.length || !contains(parents[roleId], inheritedRoleId)) return;
+        unlink(roleId, inheritedRoleId);
+        recomputeFrom(roleId);
+    }
+
+    // Recomputes roleId and every role that inherits it.
+    private void recomputeFrom(int roleId) {
+        BitSet affected = new BitSet();
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.add(roleId);
+        affected.set(roleId);
+        while (!pending.isEmpty()) {
+            for (int child : children[pending.poll()]) {
+                if (!affected.get(child)) {
+                    affected.set(child);
+                    pending.add(child);
+                }
+            }
+        }
+        recompute(affected);
+    }
+
+    // Rebuilds the affected roles parents-first and publishes; returns any left unresolved by a cycle.
+    private BitSet recompute(BitSet affected) {
+        int[] waitingOn = new int[parents.length];
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int r = affected.nextSetBit(0); r >= 0; r = affected.nextSetBit(r + 1)) {
+            for (int parent : parents[r]) if (affected.get(parent)) waitingOn[r]++;
+            if (waitingOn[r] == 0) ready.add(r);
+        }
+
+        int[][] table = Arrays.copyOf(closure, parents.length);
+        BitSet scratch = new BitSet();
+        while (!ready.isEmpty()) {
+            int r = ready.poll();
+            scratch.clear();
+            scratch.set(r);
+            for (int parent : parents[r]) {
+                int[] inherited = table[parent] != null ? table[parent] : new int[] {parent};
+                for (int id : inherited) scratch.set(id);
+            }
+            table[r] = scratch.stream().toArray();
+            affected.clear(r);
+            for (int child : children[r]) {
+                if (affected.get(child) && --waitingOn[child] == 0) ready.add(child);
+            }
+        }
+        closure = table;
+        onChange.run();
+        return affected;
+    }
+
+    // Unresolved roles minus those that merely inherit from a cycle: what remains lies on or between cycles.
+    private BitSet cycleCore(BitSet unresolved) {
+        BitSet core = (BitSet) unresolved.clone();
+        boolean peeled = true;
+        while (peeled) {
+            peeled = false;
+            for (int r = core.nextSetBit(0); r >= 0; r = core.nextSetBit(r + 1)) {
+                boolean inherited = false;
+                for (int child : children[r]) inherited |= core.get(child);
+                if (!inherited) {
+                    core.clear(r);
+                    peeled = true;
+                }
+            }
+        }
+        return core;
+    }
+
+    private void link(int roleId, int inheritedRoleId) {
+        parents[roleId] = append(parents[roleId], inheritedRoleId);
+        children[inheritedRoleId] = append(children[inheritedRoleId], roleId);
+    }
+
+    private void unlink(int roleId, int inheritedRoleId) {
+        parents[roleId] = without(parents[roleId], inheritedRoleId);
+        children[inheritedRoleId] = without(children[inheritedRoleId], roleId);
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= parents.length) return;
+        int old = parents.length;
+        parents = Arrays.copyOf(parents, size);
+        children = Arrays.copyOf(children, size);
+        for (int i = old; i < size; i++) {
+            parents[i] = NONE;
+            children[i] = NONE;
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) if (v == value) return true;
+        return false;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] grown = Arrays.copyOf(values, values.length + 1);
+        grown[values.length] = value;
+        return grown;
+    }
+
+    private static int[] without(int[] values, int value) {
+        return Arrays.stream(values).filter(v -> v != value).toArray();
+    }
+}
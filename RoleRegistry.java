@@ -0,0 +1,109 @@
+/*
+ * RoleRegistry.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Interns role names to dense int ids and keeps each role's {@link ModuleHandler} in an
+ * array indexed by id, so routing is one bounds check and one array load however many
+ * roles exist. Roles come from config (roles=Admin,Analyst,Guest; role.<Role>.module=<name>,
+ * defaulting to the lower-cased role name). Roles added at runtime are appended
+ * copy-on-write; readers never lock.
+ */
+public class RoleRegistry {
+
+    public static final int UNKNOWN = -1;
+
+    private static final Logger logger = Logger.getLogger(RoleRegistry.class.getName());
+
+    private record Snapshot(Map<String, Integer> ids, String[] names, ModuleHandler[] modules) {
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), new String[0], new ModuleHandler[0]);
+
+    public static RoleRegistry fromConfig() {
+        RoleRegistry registry = new RoleRegistry();
+        for (String role : AuthConfig.getString("roles", "Admin,Analyst,Guest").split(",")) {
+            role = role.trim();
+            if (role.isEmpty()) continue;
+            String module = AuthConfig.getString("role." + role + ".module", role.toLowerCase(Locale.ROOT));
+            ModuleHandler handler = ConfiguredModule.fromConfig(module);
+            if (handler == null) logger.log(Level.WARNING, "No module \"{0}\" configured for role {1}.", new Object[]{module, role});
+            registry.register(role, handler);
+        }
+        return registry;
+    }
+
+    // Returns the role's id, adding it (or replacing its handler) if needed.
+    public synchronized int register(String role, ModuleHandler handler) {
+        Snapshot current = snapshot;
+        Integer existing = current.ids().get(role);
+        if (existing != null) {
+            ModuleHandler[] modules = current.modules().clone();
+            modules[existing] = handler;
+            snapshot = new Snapshot(current.ids(), current.names(), modules);
+            return existing;
+        }
+        int id = current.names().length;
+        Map<String, Integer> ids = new HashMap<>(current.ids());
+        ids.put(role, id);
+        String[] names = Arrays.copyOf(current.names(), id + 1);
+        names[id] = role;
+        ModuleHandler[] modules = Arrays.copyOf(current.modules(), id + 1);
+        modules[id] = handler;
+        snapshot = new Snapshot(ids, names, modules);
+        return id;
+    }
+
+    // Id of role, registering it when it is new. A new role routes nowhere unless
+    // role.<Role>.module names its module; its name alone never picks one.
+    public int intern(String role) {
+        int id = idOf(role);
+        if (id != UNKNOWN) return id;
+        synchronized (this) {
+            id = idOf(role);
+            if (id != UNKNOWN) return id;
+            String module = AuthConfig.getString("role." + role + ".module", "");
+            return register(role, module.isEmpty() ? null : ConfiguredModule.fromConfig(module));
+        }
+    }
+
+    public int idOf(String role) {
+        Integer id = role == null ? null : snapshot.ids().get(role);
+        return id == null ? UNKNOWN : id;
+    }
+
+    public String nameOf(int roleId) {
+        String[] names = snapshot.names();
+        return roleId >= 0 && roleId < names.length ? names[roleId] : null;
+    }
+
+    public int size() {
+        return snapshot.names().length;
+    }
+
+    // Returns true when the module needs the forensic evidence prompts.
+    public boolean route(int roleId, PrintStream out) {
+        ModuleHandler[] modules = snapshot.modules();
+        ModuleHandler handler = roleId >= 0 && roleId < modules.length ? modules[roleId] : null;
+        if (handler == null) {
+            out.println("⚠️ Unknown role.");
+            return false;
+        }
+        return handler.route(out);
+    }
+}
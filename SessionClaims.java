@@ -0,0 +1,17 @@
+/*
+ * SessionClaims.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+/**
+ * What a validated session token vouches for, whether it came from the
+ * {@link SessionRegistry} or was verified statelessly by {@link SignedTokens}.
+ */
+public record SessionClaims(String tokenId, String username, String role, long expiresAtMs) {
+}
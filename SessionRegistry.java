@@ -0,0 +1,155 @@
+/*
+ * SessionRegistry.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Session token registry: token → (user, role, expiry) with sliding TTL.
+ *
+ * Validation is one map lookup plus a volatile write of the new expiry. Expiry is handled by
+ * a single sweeper driving a {@link TimerWheel}; a session whose slot fires after it was
+ * touched is simply rescheduled at its new deadline. Because every touch pushes the expiry
+ * to now + TTL, the wheel's earliest entries are also the least recently used, which is what
+ * gets evicted when the registry exceeds its hard cap.
+ */
+public class SessionRegistry {
+
+    public static final class Session {
+        private final String token;
+        private final String username;
+        private final String role;
+        private volatile long expiresAtMs;
+
+        private Session(String token, String username, String role, long expiresAtMs) {
+            this.token = token;
+            this.username = username;
+            this.role = role;
+            this.expiresAtMs = expiresAtMs;
+        }
+
+        public String token() {
+            return token;
+        }
+
+        public String username() {
+            return username;
+        }
+
+        public String role() {
+            return role;
+        }
+
+        public long expiresAtMs() {
+            return expiresAtMs;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Session> sessions;
+    private final TimerWheel<Session> wheel;
+    private final long ttlMs;
+    private final int maxSessions;
+    private final ScheduledExecutorService sweeper;
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public SessionRegistry(long ttlMs, int maxSessions, long tickMs) {
+        if (ttlMs < tickMs || maxSessions < 1) throw new IllegalArgumentException("Invalid session settings.");
+        this.ttlMs = ttlMs;
+        this.maxSessions = maxSessions;
+        this.sessions = new ConcurrentHashMap<>(Math.min(maxSessions, 1 << 16));
+        this.wheel = new TimerWheel<>(tickMs, ttlMs + tickMs, System.currentTimeMillis());
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleAtFixedRate(() -> sweep(System.currentTimeMillis()), tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static SessionRegistry fromConfig() {
+        return new SessionRegistry(AuthConfig.getLong("session.ttl.ms", 15 * 60_000),
+                AuthConfig.getInt("session.max", 100_000),
+                AuthConfig.getLong("session.tick.ms", 1000));
+    }
+
+    public Session create(String token, String username, String role) {
+        long expiresAt = System.currentTimeMillis() + ttlMs;
+        Session session = new Session(token, username, role, expiresAt);
+        sessions.put(token, session);
+        wheel.schedule(session, expiresAt);
+        if (sessions.size() > maxSessions) evictLeastRecentlyUsed();
+        return session;
+    }
+
+    // Returns the live session for token and extends its TTL, or null if unknown or expired.
+    public Session validate(String token) {
+        Session session = sessions.get(token);
+        if (session == null) return null;
+        long now = System.currentTimeMillis();
+        if (session.expiresAtMs <= now) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.expiresAtMs = now + ttlMs;
+        return session;
+    }
+
+    public boolean invalidate(String token) {
+        return sessions.remove(token) != null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public long expiredCount() {
+        return expired.sum();
+    }
+
+    public long evictedCount() {
+        return evicted.sum();
+    }
+
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    void sweep(long nowMs) {
+        wheel.advance(nowMs, session -> {
+            if (sessions.get(session.token) != session) return;
+            long expiresAt = session.expiresAtMs;
+            if (expiresAt > nowMs) {
+                wheel.schedule(session, expiresAt);
+            } else if (sessions.remove(session.token, session)) {
+                expired.increment();
+            }
+        });
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (sessions.size() > maxSessions) {
+            TimerWheel.Entry<Session> entry = wheel.pollEarliest();
+            if (entry == null) return;
+            Session session = entry.item();
+            if (sessions.get(session.token) != session) continue;
+            long expiresAt = session.expiresAtMs;
+            if (expiresAt > entry.deadlineMs()) {
+                wheel.schedule(session, expiresAt);
+            } else if (sessions.remove(session.token, session)) {
+                evicted.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Sha256Hasher.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Legacy unsalted single-pass SHA-256, kept so existing records still verify.
+ * Records using it are rehashed with the current policy on their next login.
+ *
+ * The verify path is allocation-free: each thread reuses its own digest, UTF-8 input
+ * buffer and output buffer, and the comparison is constant-time.
+ */
+public class Sha256Hasher implements PasswordHasher {
+
+    public static final String ALGORITHM = "SHA-256";
+    static final int DIGEST_BYTES = 32;
+    private static final byte[] NO_SALT = new byte[0];
+    private static final ThreadLocal<DigestState> STATE = ThreadLocal.withInitial(DigestState::new);
+
+    @Override
+    public String algorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public CredentialHash hash(String pin) {
+        return new CredentialHash(ALGORITHM, 1, NO_SALT, digest(pin));
+    }
+
+    @Override
+    public boolean verify(String pin, CredentialHash stored) {
+        return matches(pin, stored.hash());
+    }
+
+    @Override
+    public boolean needsUpgrade(CredentialHash stored) {
+        // SHA-256 is the weakest supported scheme; rewriting anything to it would be a downgrade.
+        return false;
+    }
+
+    static byte[] digest(CharSequence input) {
+        DigestState state = STATE.get();
+        return Arrays.copyOf(state.digest(input), DIGEST_BYTES);
+    }
+
+    // Digests input into the thread's scratch buffer and compares in constant time.
+    static boolean matches(CharSequence input, byte[] expected) {
+        return MessageDigest.isEqual(STATE.get().digest(input), expected);
+    }
+
+    private static final class DigestState {
+        private final MessageDigest digest;
+        private final byte[] out = new byte[DIGEST_BYTES];
+        private byte[] in = new byte[64];
+        private ByteBuffer inBuffer = ByteBuffer.wrap(in);
+
+        DigestState() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("SHA-256 not available");
+            }
+        }
+
+        byte[] digest(CharSequence input) {
+            int len = encodeUtf8(input);
+            digest.update(in, 0, len);
+            try {
+                digest.digest(out, 0, DIGEST_BYTES);
+            } catch (DigestException e) {
+                throw new IllegalStateException("SHA-256 digest failed", e);
+            }
+            return out;
+        }
+
+        private int encodeUtf8(CharSequence s) {
+            int max = s.length() * 3;
+            if (in.length < max) {
+                in = new byte[Math.max(max, in.length * 2)];
+                inBuffer = ByteBuffer.wrap(in);
+            }
+            return Utf8.encode(s, Integer.MAX_VALUE, inBuffer, 0);
+        }
+    }
+}
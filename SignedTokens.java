@@ -0,0 +1,172 @@
+/*
+ * SignedTokens.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Stateless session tokens: base64url(payload) "." base64url(HMAC-SHA256(payload)).
+ * The payload carries a random token id, user, role and absolute expiry, so any node holding
+ * the key validates a token with one MAC computation and no store lookup.
+ *
+ * Logout adds the token id to a revocation bloom filter. Filters rotate every TTL and the
+ * previous generation is still consulted, so a revocation outlives the token it revokes.
+ * A false positive rejects a valid token (fail closed); it never accepts a revoked one.
+ */
+public class SignedTokens {
+
+    private static final Logger logger = Logger.getLogger(SignedTokens.class.getName());
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final TokenGenerator ids;
+    private final long ttlMs;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    private volatile BloomFilter revoked;
+    private volatile BloomFilter previouslyRevoked;
+    private volatile long generationStartMs;
+
+    public SignedTokens(byte[] secret, TokenGenerator ids, long ttlMs, long expectedRevocations, double falsePositiveRate) {
+        if (secret.length < 32) throw new IllegalArgumentException("HMAC key must be at least 256 bits.");
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.ids = ids;
+        this.ttlMs = ttlMs;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revoked = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.previouslyRevoked = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.generationStartMs = System.currentTimeMillis();
+        newMac();
+    }
+
+    // token.hmac.key is base64; without it a random per-process key is used and tokens only verify on this node.
+    public static SignedTokens fromConfig(TokenGenerator ids) {
+        String configured = AuthConfig.getString("token.hmac.key", "");
+        byte[] secret;
+        if (configured.isEmpty()) {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            logger.log(Level.WARNING, "token.hmac.key not set; signed tokens will not verify on other nodes.");
+        } else {
+            secret = Base64.getDecoder().decode(configured);
+        }
+        return new SignedTokens(secret, ids,
+                AuthConfig.getLong("session.ttl.ms", 15 * 60_000),
+                AuthConfig.getLong("token.revocation.expected", 100_000),
+                Double.parseDouble(AuthConfig.getString("token.revocation.fpp", "0.001")));
+    }
+
+    public String issue(String username, String role) {
+        byte[] id = ids.next().getBytes(StandardCharsets.US_ASCII);
+        byte[] user = username.getBytes(StandardCharsets.UTF_8);
+        byte[] roleBytes = role.getBytes(StandardCharsets.UTF_8);
+        if (user.length > 255 || roleBytes.length > 255) throw new IllegalArgumentException("Claim too long.");
+        ByteBuffer payload = ByteBuffer.allocate(1 + 8 + 3 + id.length + user.length + roleBytes.length);
+        payload.put(VERSION).putLong(System.currentTimeMillis() + ttlMs);
+        payload.put((byte) id.length).put(id);
+        payload.put((byte) user.length).put(user);
+        payload.put((byte) roleBytes.length).put(roleBytes);
+        byte[] body = payload.array();
+        return encoder.encodeToString(body) + "." + encoder.encodeToString(macs.get().doFinal(body));
+    }
+
+    // Returns the claims of a well-formed, correctly signed, unexpired and unrevoked token, else null.
+    public SessionClaims verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) return null;
+        byte[] body;
+        byte[] signature;
+        try {
+            body = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(macs.get().doFinal(body), signature)) return null;
+
+        ByteBuffer payload = ByteBuffer.wrap(body);
+        try {
+            if (payload.get() != VERSION) return null;
+            long expiresAt = payload.getLong();
+            String id = readField(payload, StandardCharsets.US_ASCII);
+            String username = readField(payload, StandardCharsets.UTF_8);
+            String role = readField(payload, StandardCharsets.UTF_8);
+            if (payload.hasRemaining() || expiresAt <= System.currentTimeMillis() || isRevoked(id)) return null;
+            return new SessionClaims(id, username, role, expiresAt);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Revokes a valid token until it would have expired anyway; returns false if it was not valid.
+    public boolean revoke(String token) {
+        SessionClaims claims = verify(token);
+        if (claims == null) return false;
+        rotateIfDue();
+        revoked.add(claims.tokenId());
+        return true;
+    }
+
+    public long revocationMemoryBytes() {
+        return revoked.memoryBytes() + previouslyRevoked.memoryBytes();
+    }
+
+    private boolean isRevoked(String id) {
+        rotateIfDue();
+        BloomFilter current = revoked;
+        BloomFilter previous = previouslyRevoked;
+        return current.mightContain(id) | previous.mightContain(id);
+    }
+
+    private void rotateIfDue() {
+        if (System.currentTimeMillis() - generationStartMs < ttlMs) return;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now - generationStartMs < ttlMs) return;
+            previouslyRevoked = revoked;
+            revoked = new BloomFilter(expectedRevocations, falsePositiveRate);
+            generationStartMs = now;
+        }
+    }
+
+    private static String readField(ByteBuffer payload, Charset charset) {
+        int length = payload.get() & 0xff;
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * SlidingWindowLimiter.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-free sliding-window event counter per key. Each key is one {@link AtomicLong} packing
+ * the window index (high 32 bits) with the current and previous window counts (16 bits each);
+ * the estimate weights the previous window by how much of it still overlaps the sliding window.
+ *
+ * Idle keys are swept once both windows have expired. The table is capped at {@code maxKeys}.
+ * If it is still full after a sweep, new keys either count as limited (fail closed) or go
+ * uncounted (fail open), and both cases are reported through {@link #saturatedCount()}.
+ * Fail open suits per-account limits: junk keys must not lock out real accounts.
+ */
+public class SlidingWindowLimiter {
+
+    private static final long DEAD = -1L;
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final int limit;
+    private final long windowMs;
+    private final int maxKeys;
+    private final boolean failOpen;
+    private final ConcurrentHashMap<String, AtomicLong> cells;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final LongAdder saturated = new LongAdder();
+    private volatile long lastSweepMs;
+
+    public SlidingWindowLimiter(int limit, long windowMs, int maxKeys) {
+        this(limit, windowMs, maxKeys, false);
+    }
+
+    public SlidingWindowLimiter(int limit, long windowMs, int maxKeys, boolean failOpen) {
+        if (limit < 1 || limit > MAX_COUNT || windowMs < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Invalid limiter settings.");
+        }
+        this.limit = limit;
+        this.windowMs = windowMs;
+        this.maxKeys = maxKeys;
+        this.failOpen = failOpen;
+        this.cells = new ConcurrentHashMap<>(Math.min(maxKeys, 1 << 16));
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public long windowMs() {
+        return windowMs;
+    }
+
+    public boolean isLimited(String key, long nowMs) {
+        return estimate(key, nowMs) >= limit;
+    }
+
+    // Weighted number of events for key inside the sliding window ending at nowMs.
+    public double estimate(String key, long nowMs) {
+        AtomicLong cell = cells.get(key);
+        if (cell == null) return 0;
+        long state = cell.get();
+        return state == DEAD ? 0 : estimate(state, nowMs);
+    }
+
+    // Counts one event and returns the new windowed estimate. A saturated table returns the
+    // limit (fail closed) or 0 (fail open).
+    public double record(String key, long nowMs) {
+        int window = windowAt(nowMs);
+        while (true) {
+            AtomicLong cell = cell(key, window, nowMs);
+            if (cell == null) return failOpen ? 0 : limit;
+            long state = cell.get();
+            if (state == DEAD) {
+                cells.remove(key, cell);
+                continue;
+            }
+            long rolled = roll(state, window);
+            long next = pack(window, Math.min(current(rolled) + 1, MAX_COUNT), previous(rolled));
+            if (cell.compareAndSet(state, next)) return estimate(next, nowMs);
+        }
+    }
+
+    public void reset(String key) {
+        cells.remove(key);
+    }
+
+    // Removes keys whose windows have both expired; returns how many were dropped.
+    public int sweep(long nowMs) {
+        lastSweepMs = nowMs;
+        int window = windowAt(nowMs);
+        int removed = 0;
+        for (var entry : cells.entrySet()) {
+            AtomicLong cell = entry.getValue();
+            long state = cell.get();
+            if (state != DEAD && stateWindow(state) < window - 1 && cell.compareAndSet(state, DEAD)) {
+                cells.remove(entry.getKey(), cell);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public long size() {
+        return cells.mappingCount();
+    }
+
+    public long saturatedCount() {
+        return saturated.sum();
+    }
+
+    private AtomicLong cell(String key, int window, long nowMs) {
+        AtomicLong cell = cells.get(key);
+        if (cell != null) return cell;
+        if (cells.mappingCount() >= maxKeys) {
+            // A full sweep is O(keys); when saturated, run at most one per window.
+            if (nowMs - lastSweepMs >= windowMs && sweepLock.tryLock()) {
+                try {
+                    sweep(nowMs);
+                } finally {
+                    sweepLock.unlock();
+                }
+            }
+            if (cells.mappingCount() >= maxKeys) {
+                saturated.increment();
+                return null;
+            }
+        }
+        return cells.computeIfAbsent(key, k -> new AtomicLong(pack(window, 0, 0)));
+    }
+
+    private double estimate(long state, long nowMs) {
+        long rolled = roll(state, windowAt(nowMs));
+        double overlap = 1.0 - (double) (nowMs % windowMs) / windowMs;
+        return current(rolled) + previous(rolled) * overlap;
+    }
+
+    private int windowAt(long nowMs) {
+        return (int) (nowMs / windowMs);
+    }
+
+    private static long roll(long state, int window) {
+        int stateWindow = stateWindow(state);
+        if (stateWindow == window) return state;
+        if (stateWindow == window - 1) return pack(window, 0, current(state));
+        return pack(window, 0, 0);
+    }
+
+    private static long pack(int window, int current, int previous) {
+        return ((long) window << 32) | ((long) current << 16) | previous;
+    }
+
+    private static int stateWindow(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int current(long state) {
+        return (int) (state >>> 16) & MAX_COUNT;
+    }
+
+    private static int previous(long state) {
+        return (int) state & MAX_COUNT;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * StubBiometricProvider.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for a biometric API. Accepts the keyword "scan" after a latency drawn
+ * uniformly from [minLatencyMs, maxLatencyMs]; no thread sleeps while the call is pending.
+ */
+public class StubBiometricProvider implements BiometricProvider {
+
+    private final long minLatencyMs;
+    private final long maxLatencyMs;
+
+    public StubBiometricProvider(long minLatencyMs, long maxLatencyMs) {
+        if (minLatencyMs < 0 || maxLatencyMs < minLatencyMs) {
+            throw new IllegalArgumentException("Invalid latency range: " + minLatencyMs + ".." + maxLatencyMs);
+        }
+        this.minLatencyMs = minLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    public static StubBiometricProvider fromConfig() {
+        long min = AuthConfig.getLong("biometric.latency.min.ms", 1500);
+        long max = AuthConfig.getLong("biometric.latency.max.ms", Math.max(min, 1500));
+        return new StubBiometricProvider(min, max);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> verify(String username, String sample) {
+        long latency = minLatencyMs == maxLatencyMs
+                ? minLatencyMs
+                : ThreadLocalRandom.current().nextLong(minLatencyMs, maxLatencyMs + 1);
+        return CompletableFuture.supplyAsync(() -> sample.equalsIgnoreCase("scan"),
+                CompletableFuture.delayedExecutor(latency, TimeUnit.MILLISECONDS));
+    }
+}
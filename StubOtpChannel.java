@@ -0,0 +1,78 @@
+/*
+ * StubOtpChannel.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for a delivery provider. Each batch costs one simulated round trip, then
+ * its messages are appended to a file, if configured, and to an outbox queue if the caller
+ * passed one (tests do; the configured channel does not, so no codes are kept in memory).
+ * A failure rate can be set to exercise retries.
+ */
+public class StubOtpChannel implements OtpChannel {
+
+    private final long latencyMs;
+    private final double failureRate;
+    private final Path file;
+    private final BlockingQueue<OtpMessage> outbox;
+
+    public StubOtpChannel(long latencyMs, double failureRate, Path file) {
+        this(latencyMs, failureRate, file, null);
+    }
+
+    // outbox receives every delivered message in delivery order; the caller drains it.
+    public StubOtpChannel(long latencyMs, double failureRate, Path file, BlockingQueue<OtpMessage> outbox) {
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+        this.file = file;
+        this.outbox = outbox;
+    }
+
+    public static StubOtpChannel fromConfig() {
+        String file = AuthConfig.getString("otp.stub.file", "");
+        return new StubOtpChannel(AuthConfig.getLong("otp.delivery.delay.ms", 1000),
+                Double.parseDouble(AuthConfig.getString("otp.stub.failure.rate", "0")),
+                file.isEmpty() ? null : Path.of(file));
+    }
+
+    @Override
+    public void sendBatch(List<OtpMessage> batch) throws IOException {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending OTP batch", e);
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IOException("Simulated OTP provider failure");
+        }
+        if (file != null) {
+            synchronized (this) {
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (OtpMessage message : batch) {
+                        writer.write(message.createdAtMs() + " " + message.username() + " " + message.code());
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+        if (outbox != null) outbox.addAll(batch);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * TimerWheel.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: deadlines are bucketed into {@code slots} ticks of {@code tickMs},
+ * so scheduling is O(1) and one sweeper thread expires everything instead of a timer per item.
+ * Entries further out than one rotation stay in their slot until a later pass reaches them.
+ * Expiry callbacks run outside the wheel lock and may reschedule.
+ */
+final class TimerWheel<T> {
+
+    record Entry<T>(T item, long deadlineMs) {
+    }
+
+    private final long tickMs;
+    private final ArrayDeque<Entry<T>>[] slots;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(long tickMs, long spanMs, long nowMs) {
+        if (tickMs < 1 || spanMs < tickMs) throw new IllegalArgumentException("Invalid wheel geometry.");
+        int wanted = (int) Math.min(1 << 20, spanMs / tickMs + 1);
+        int count = Integer.highestOneBit(Math.max(2, wanted - 1)) << 1;
+        this.tickMs = tickMs;
+        this.slots = new ArrayDeque[count];
+        for (int i = 0; i < count; i++) slots[i] = new ArrayDeque<>();
+        this.mask = count - 1;
+        this.currentTick = nowMs / tickMs;
+    }
+
+    // Buckets by the first tick at or after the deadline; rounding down would let a pass early in
+    // that tick skip the entry and leave it for the next rotation.
+    synchronized void schedule(T item, long deadlineMs) {
+        long tick = Math.max(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), currentTick + 1);
+        slots[(int) (tick & mask)].add(new Entry<>(item, deadlineMs));
+        size++;
+    }
+
+    // Fires every entry whose deadline is at or before nowMs.
+    void advance(long nowMs, Consumer<T> onExpire) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            long target = nowMs / tickMs;
+            long first = Math.max(currentTick + 1, target - mask);
+            for (long tick = first; tick <= target; tick++) {
+                Iterator<Entry<T>> it = slots[(int) (tick & mask)].iterator();
+                while (it.hasNext()) {
+                    Entry<T> entry = it.next();
+                    if (entry.deadlineMs() <= nowMs) {
+                        it.remove();
+                        size--;
+                        expired.add(entry.item());
+                    }
+                }
+            }
+            currentTick = Math.max(currentTick, target);
+        }
+        expired.forEach(onExpire);
+    }
+
+    // Removes and returns the entry due soonest, at tick granularity, or null when empty.
+    synchronized Entry<T> pollEarliest() {
+        if (size == 0) return null;
+        for (int i = 1; i <= slots.length; i++) {
+            ArrayDeque<Entry<T>> slot = slots[(int) ((currentTick + i) & mask)];
+            Entry<T> earliest = null;
+            for (Entry<T> entry : slot) {
+                if (earliest == null || entry.deadlineMs() < earliest.deadlineMs()) earliest = entry;
+            }
+            if (earliest != null) {
+                slot.remove(earliest);
+                size--;
+                return earliest;
+            }
+        }
+        return null;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
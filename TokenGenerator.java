@@ -0,0 +1,153 @@
+/*
+ * TokenGenerator.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Session token generator. Each thread owns a Hash_DRBG instance, instantiated once with
+ * seed material from the JDK's seeder and a per-thread personalization string, so token
+ * generation never contends on a shared {@link SecureRandom} the way UUID.randomUUID does.
+ *
+ * Tokens are 128 or 256 random bits rendered as unpadded base64url. Random bytes are drawn
+ * from the DRBG a kilobyte at a time into a per-thread pool and each slice is used once;
+ * the only allocation per token is the resulting Latin-1 String. One-time codes are drawn
+ * from the same pools with {@link #nextInt}.
+ */
+public class TokenGenerator {
+
+    // Random bytes drawn from the DRBG per call; a DRBG generate has a fixed cost per call.
+    private static final int POOL_BYTES = 1024;
+
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+    private final int tokenBytes;
+    private final int encodedLength;
+    private final ThreadLocal<State> state;
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder instances = new LongAdder();
+    private final long createdNanos = System.nanoTime();
+
+    private final class State {
+        final SecureRandom random = newDrbg();
+        final byte[] pool = new byte[POOL_BYTES];
+        int used = POOL_BYTES;
+        final byte[] encoded = new byte[encodedLength];
+    }
+
+    public TokenGenerator(int bits) {
+        if (bits != 128 && bits != 256) throw new IllegalArgumentException("Token size must be 128 or 256 bits.");
+        this.tokenBytes = bits / 8;
+        this.encodedLength = (tokenBytes * 4 + 2) / 3;
+        this.state = ThreadLocal.withInitial(State::new);
+    }
+
+    public static TokenGenerator fromConfig() {
+        return new TokenGenerator(AuthConfig.getInt("token.bits", 128));
+    }
+
+    public String next() {
+        State s = state.get();
+        encode(s);
+        generated.increment();
+        return new String(s.encoded, 0, encodedLength, StandardCharsets.ISO_8859_1);
+    }
+
+    // Writes the encoded token into out (at least encodedLength() bytes) with no allocation.
+    public void nextInto(ByteBuffer out) {
+        State s = state.get();
+        encode(s);
+        generated.increment();
+        out.put(s.encoded, 0, encodedLength);
+    }
+
+    // Uniform in [0, bound), from this thread's DRBG; rejection sampling keeps it unbiased.
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("Bound must be positive.");
+        long range = 1L << 31;
+        long limit = range - range % bound;
+        State s = state.get();
+        while (true) {
+            if (s.used + 4 > POOL_BYTES) {
+                s.random.nextBytes(s.pool);
+                s.used = 0;
+            }
+            byte[] raw = s.pool;
+            int i = s.used;
+            s.used += 4;
+            int bits = ((raw[i] & 0xff) << 24 | (raw[i + 1] & 0xff) << 16 | (raw[i + 2] & 0xff) << 8 | (raw[i + 3] & 0xff)) >>> 1;
+            if (bits < limit) return bits % bound;
+        }
+    }
+
+    public int encodedLength() {
+        return encodedLength;
+    }
+
+    public long generatedCount() {
+        return generated.sum();
+    }
+
+    // Number of per-thread DRBG instances created so far.
+    public long instanceCount() {
+        return instances.sum();
+    }
+
+    // Average tokens per second since this generator was created.
+    public double tokensPerSecond() {
+        long elapsed = System.nanoTime() - createdNanos;
+        return elapsed <= 0 ? 0 : generated.sum() * 1e9 / elapsed;
+    }
+
+    private void encode(State s) {
+        if (s.used + tokenBytes > POOL_BYTES) {
+            s.random.nextBytes(s.pool);
+            s.used = 0;
+        }
+        byte[] raw = s.pool;
+        byte[] encoded = s.encoded;
+        int in = s.used;
+        int end = in + tokenBytes;
+        s.used = end;
+        int out = 0;
+        while (in + 3 <= end) {
+            int bits = (raw[in++] & 0xff) << 16 | (raw[in++] & 0xff) << 8 | (raw[in++] & 0xff);
+            encoded[out++] = BASE64_URL[bits >>> 18];
+            encoded[out++] = BASE64_URL[(bits >>> 12) & 0x3f];
+            encoded[out++] = BASE64_URL[(bits >>> 6) & 0x3f];
+            encoded[out++] = BASE64_URL[bits & 0x3f];
+        }
+        int remaining = end - in;
+        if (remaining > 0) {
+            int bits = (raw[in] & 0xff) << 16 | (remaining == 2 ? (raw[in + 1] & 0xff) << 8 : 0);
+            encoded[out++] = BASE64_URL[bits >>> 18];
+            encoded[out++] = BASE64_URL[(bits >>> 12) & 0x3f];
+            if (remaining == 2) encoded[out] = BASE64_URL[(bits >>> 6) & 0x3f];
+        }
+    }
+
+    private SecureRandom newDrbg() {
+        instances.increment();
+        byte[] personalization = ("auth-token:" + Thread.currentThread().getId() + ":" + System.nanoTime())
+                .getBytes(StandardCharsets.US_ASCII);
+        try {
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(256, DrbgParameters.Capability.NONE, personalization));
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * TotpEngine.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * HOTP (RFC 4226) and TOTP (RFC 6238) codes for authenticator-app users, so their OTP
+ * step needs no outbound delivery at all.
+ *
+ * Secrets are loaded once per user into a cache of ready-made keys. Each thread reuses one
+ * {@link Mac} plus counter and output buffers, and re-initialises the Mac only when the key
+ * changes, so checking the whole ±window for one attempt costs one init and no garbage.
+ * Every step in the window is always computed, and a step that was already accepted is
+ * never accepted again.
+ */
+public class TotpEngine {
+
+    private static final char[] BASE32 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+    private static final int[] POWERS = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+    private static final UserSecret NOT_ENROLLED = new UserSecret(null);
+
+    private static final class UserSecret {
+        final SecretKeySpec key;
+        final AtomicLong lastAcceptedStep = new AtomicLong(Long.MIN_VALUE);
+
+        UserSecret(SecretKeySpec key) {
+            this.key = key;
+        }
+    }
+
+    private final class MacState {
+        final Mac mac = newMac();
+        final byte[] counter = new byte[8];
+        final byte[] out = new byte[mac.getMacLength()];
+        SecretKeySpec initialisedWith;
+    }
+
+    private final String algorithm;
+    private final int digits;
+    private final long stepSeconds;
+    private final int window;
+    private final Function<String, byte[]> secretLoader;
+    private final Map<String, UserSecret> secrets = new ConcurrentHashMap<>();
+    private final ThreadLocal<MacState> macs;
+
+    public TotpEngine(String algorithm, int digits, long stepSeconds, int window, Function<String, byte[]> secretLoader) {
+        if (digits < 6 || digits > 8 || stepSeconds < 1 || window < 0) {
+            throw new IllegalArgumentException("Invalid TOTP parameters.");
+        }
+        this.algorithm = algorithm;
+        this.digits = digits;
+        this.stepSeconds = stepSeconds;
+        this.window = window;
+        this.secretLoader = secretLoader;
+        this.macs = ThreadLocal.withInitial(MacState::new);
+        newMac();
+    }
+
+    // Secrets come from totp.secret.<username> (base32, as shown by authenticator apps).
+    public static TotpEngine fromConfig() {
+        return new TotpEngine(AuthConfig.getString("totp.algorithm", "HmacSHA1"),
+                AuthConfig.getInt("totp.digits", 6),
+                AuthConfig.getLong("totp.step.seconds", 30),
+                AuthConfig.getInt("totp.window", 1),
+                username -> {
+                    String configured = AuthConfig.getString("totp.secret." + username, "");
+                    return configured.isEmpty() ? null : base32Decode(configured);
+                });
+    }
+
+    public boolean isEnrolled(String username) {
+        return secretFor(username) != null;
+    }
+
+    // Creates and caches a new random secret; returns it base32-encoded for the authenticator app.
+    public String enroll(String username) {
+        byte[] secret = new byte[20];
+        new SecureRandom().nextBytes(secret);
+        secrets.put(username, new UserSecret(new SecretKeySpec(secret, algorithm)));
+        return base32Encode(secret);
+    }
+
+    public void forget(String username) {
+        secrets.remove(username);
+    }
+
+    public int digits() {
+        return digits;
+    }
+
+    // HOTP value for an explicit counter (RFC 4226 section 5.3).
+    public int hotp(String username, long counter) {
+        UserSecret secret = secretFor(username);
+        if (secret == null) throw new IllegalArgumentException("User not enrolled for TOTP.");
+        return code(macs.get(), secret.key, counter);
+    }
+
+    public int currentCode(String username) {
+        return hotp(username, stepAt(System.currentTimeMillis()));
+    }
+
+    public boolean verify(String username, CharSequence input) {
+        return verify(username, input, System.currentTimeMillis());
+    }
+
+    public boolean verify(String username, CharSequence input, long nowMs) {
+        UserSecret secret = secretFor(username);
+        if (secret == null) return false;
+        int candidate = parse(input);
+        if (candidate < 0) return false;
+
+        MacState state = macs.get();
+        long current = stepAt(nowMs);
+        long matched = Long.MIN_VALUE;
+        for (long step = current - window; step <= current + window; step++) {
+            if (code(state, secret.key, step) == candidate && matched == Long.MIN_VALUE) matched = step;
+        }
+        if (matched == Long.MIN_VALUE) return false;
+
+        AtomicLong last = secret.lastAcceptedStep;
+        long previous;
+        do {
+            previous = last.get();
+            if (matched <= previous) return false;
+        } while (!last.compareAndSet(previous, matched));
+        return true;
+    }
+
+    private long stepAt(long epochMs) {
+        return Math.floorDiv(epochMs / 1000, stepSeconds);
+    }
+
+    private UserSecret secretFor(String username) {
+        UserSecret secret = secrets.computeIfAbsent(username, name -> {
+            byte[] raw = secretLoader.apply(name);
+            return raw == null ? NOT_ENROLLED : new UserSecret(new SecretKeySpec(raw, algorithm));
+        });
+        return secret == NOT_ENROLLED ? null : secret;
+    }
+
+    private int code(MacState state, SecretKeySpec key, long counter) {
+        try {
+            if (state.initialisedWith != key) {
+                state.mac.init(key);
+                state.initialisedWith = key;
+            }
+            byte[] buffer = state.counter;
+            for (int i = 7; i >= 0; i--) {
+                buffer[i] = (byte) counter;
+                counter >>>= 8;
+            }
+            state.mac.update(buffer);
+            state.mac.doFinal(state.out, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("TOTP MAC failed", e);
+        }
+        byte[] hash = state.out;
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = (hash[offset] & 0x7f) << 24 | (hash[offset + 1] & 0xff) << 16
+                | (hash[offset + 2] & 0xff) << 8 | (hash[offset + 3] & 0xff);
+        return binary % POWERS[digits];
+    }
+
+    // Digits only and exactly the configured length; -1 otherwise.
+    private int parse(CharSequence input) {
+        if (input == null || input.length() != digits) return -1;
+        int value = 0;
+        for (int i = 0; i < digits; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private Mac newMac() {
+        try {
+            return Mac.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(algorithm + " not available", e);
+        }
+    }
+
+    static byte[] base32Decode(String encoded) {
+        String clean = encoded.replace(" ", "").replace("=", "").toUpperCase(Locale.ROOT);
+        byte[] out = new byte[clean.length() * 5 / 8];
+        int buffer = 0;
+        int bits = 0;
+        int index = 0;
+        for (int i = 0; i < clean.length(); i++) {
+            char c = clean.charAt(i);
+            int value = c >= 'A' && c <= 'Z' ? c - 'A' : c >= '2' && c <= '7' ? c - '2' + 26 : -1;
+            if (value < 0) throw new IllegalArgumentException("Invalid base32 secret.");
+            buffer = buffer << 5 | value;
+            bits += 5;
+            if (bits >= 8) {
+                out[index++] = (byte) (buffer >>> (bits - 8));
+                bits -= 8;
+            }
+        }
+        return out;
+    }
+
+    static String base32Encode(byte[] data) {
+        StringBuilder out = new StringBuilder((data.length * 8 + 4) / 5);
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : data) {
+            buffer = buffer << 8 | (b & 0xff);
+            bits += 8;
+            while (bits >= 5) {
+                out.append(BASE32[(buffer >>> (bits - 5)) & 0x1f]);
+                bits -= 5;
+            }
+        }
+        if (bits > 0) out.append(BASE32[(buffer << (5 - bits)) & 0x1f]);
+        return out.toString();
+    }
+}
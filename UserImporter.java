@@ -0,0 +1,392 @@
+/*
+ * UserImporter.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams users with pre-hashed credentials into a {@link CredentialStore}. One reader
+ * thread cuts the file into chunks of lines, and worker threads parse and store them.
+ * The chunk queue is bounded, so memory holds only a few chunks however large the file.
+ * Nothing is hashed here; records keep the parameters they were exported with, and a line
+ * whose iteration count its algorithm would not accept is rejected. Roles must already be
+ * configured (roles=...); a line naming any other role is rejected.
+ *
+ * The first role is stored with the user. Further roles are grants in the running
+ * {@link AuthorizationEngine}, which is not persisted; without an engine (the standalone
+ * command) they are counted in {@link Result#rolesNotApplied()} and reported, and take effect
+ * only when the file is imported at startup (users.import) or listed in user.<name>.roles.
+ *
+ * CSV:   username,roles,algorithm,iterations,salt,hash   (roles ';'-separated, salt and hash
+ *        base64, header line optional)
+ * JSONL: {"username":"u","roles":["Analyst"],"algorithm":"SHA-256","iterations":1,"salt":"","hash":"..."}
+ *        ("role":"Analyst" is accepted too)
+ *
+ * Usage: java UserImporter <file> [csv|jsonl]
+ */
+public class UserImporter {
+
+    private static final Logger logger = Logger.getLogger(UserImporter.class.getName());
+    private static final int MAX_LOGGED_REJECTS = 10;
+
+    public enum Format { CSV, JSONL }
+
+    public record Result(long lines, long imported, long rejected, long rolesNotApplied, long elapsedNanos) {
+        public double usersPerSecond() {
+            return elapsedNanos == 0 ? 0 : imported * 1e9 / elapsedNanos;
+        }
+    }
+
+    private record Chunk(long firstLine, List<String> lines) {
+    }
+
+    private final CredentialStore store;
+    private final RoleRegistry roles;
+    private final AuthorizationEngine authorization;
+    private final int threads;
+    private final int chunkLines;
+    private final long progressIntervalNanos;
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rolesNotApplied = new LongAdder();
+    private final AtomicInteger loggedRejects = new AtomicInteger();
+
+    // authorization may be null when no running engine receives the secondary roles.
+    public UserImporter(CredentialStore store, RoleRegistry roles, AuthorizationEngine authorization,
+                        int threads, int chunkLines, long progressIntervalMs) {
+        if (threads < 1 || chunkLines < 1) throw new IllegalArgumentException("Threads and chunk size must be positive.");
+        this.store = store;
+        this.roles = roles;
+        this.authorization = authorization;
+        this.threads = threads;
+        this.chunkLines = chunkLines;
+        this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(progressIntervalMs);
+    }
+
+    public static UserImporter fromConfig(CredentialStore store, RoleRegistry roles, AuthorizationEngine authorization) {
+        return new UserImporter(store, roles, authorization,
+                AuthConfig.getInt("import.threads", Runtime.getRuntime().availableProcessors()),
+                AuthConfig.getInt("import.chunk.lines", 10_000),
+                AuthConfig.getLong("import.progress.interval.ms", 1000));
+    }
+
+    public static Format formatOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? Format.JSONL : Format.CSV;
+    }
+
+    public Result importFile(Path file, Format format, PrintStream progress) throws IOException {
+        long totalBytes = Files.size(file);
+        try (InputStream in = Files.newInputStream(file)) {
+            return importStream(in, format, totalBytes, progress);
+        }
+    }
+
+    public Result importStream(InputStream in, Format format, long totalBytes, PrintStream progress) throws IOException {
+        long start = System.nanoTime();
+        long importedBefore = imported.sum();
+        long rejectedBefore = rejected.sum();
+        long rolesNotAppliedBefore = rolesNotApplied.sum();
+        ExecutorService workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), r -> {
+                    Thread t = new Thread(r, "user-import");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        List<Future<?>> pending = new ArrayList<>();
+        long lineNumber = 0;
+        long bytesRead = 0;
+        long nextReport = start + progressIntervalNanos;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16)) {
+            List<String> lines = new ArrayList<>(chunkLines);
+            long firstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                bytesRead += line.length() + 1;
+                lines.add(line);
+                if (lines.size() == chunkLines) {
+                    Chunk chunk = new Chunk(firstLine, lines);
+                    pending.add(workers.submit(() -> importChunk(chunk, format)));
+                    pending.removeIf(Future::isDone);
+                    lines = new ArrayList<>(chunkLines);
+                    firstLine = lineNumber + 1;
+                }
+                if (progress != null && System.nanoTime() >= nextReport) {
+                    report(progress, lineNumber, bytesRead, totalBytes, importedBefore, start);
+                    nextReport = System.nanoTime() + progressIntervalNanos;
+                }
+            }
+            if (!lines.isEmpty()) importChunk(new Chunk(firstLine, lines), format);
+        } finally {
+            workers.shutdown();
+        }
+        try {
+            for (Future<?> future : pending) future.get();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing users", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            throw new IOException("User import failed", e.getCause());
+        }
+        Result result = new Result(lineNumber, imported.sum() - importedBefore, rejected.sum() - rejectedBefore,
+                rolesNotApplied.sum() - rolesNotAppliedBefore, System.nanoTime() - start);
+        if (progress != null) {
+            progress.printf("📥 Imported %,d users (%,d rejected) in %.1f s — %,.0f users/s%n", result.imported(),
+                    result.rejected(), result.elapsedNanos() / 1e9, result.usersPerSecond());
+            if (result.rolesNotApplied() > 0) {
+                progress.printf("⚠️ %,d users have secondary roles that were not applied; only the first role is stored."
+                        + " Import the file at startup (users.import) or list them in user.<name>.roles.%n",
+                        result.rolesNotApplied());
+            }
+        }
+        return result;
+    }
+
+    private void report(PrintStream progress, long lines, long bytesRead, long totalBytes, long importedBefore, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long done = imported.sum() - importedBefore;
+        String percent = totalBytes > 0 ? String.format(" (%.0f%%)", Math.min(100.0, bytesRead * 100.0 / totalBytes)) : "";
+        progress.printf("📥 %,d lines read%s, %,d users imported, %,.0f users/s%n", lines, percent, done, done / seconds);
+    }
+
+    private void importChunk(Chunk chunk, Format format) {
+        long lineNumber = chunk.firstLine();
+        for (String line : chunk.lines()) {
+            if (!line.isBlank()) {
+                try {
+                    if (format == Format.CSV) importCsv(line); else importJson(line);
+                } catch (RuntimeException e) {
+                    reject(lineNumber, e.getMessage());
+                }
+            }
+            lineNumber++;
+        }
+    }
+
+    private void importCsv(String line) {
+        if (line.startsWith("username,")) return;
+        String[] fields = new String[6];
+        int from = 0;
+        for (int i = 0; i < 5; i++) {
+            int comma = line.indexOf(',', from);
+            if (comma < 0) throw new IllegalArgumentException("expected 6 fields");
+            fields[i] = line.substring(from, comma);
+            from = comma + 1;
+        }
+        fields[5] = line.substring(from);
+        store(fields[0], fields[1].split(";"), fields[2], Long.parseLong(fields[3].trim()), fields[4], fields[5]);
+    }
+
+    private void importJson(String line) {
+        FlatJson json = new FlatJson(line);
+        String username = null;
+        String algorithm = Sha256Hasher.ALGORITHM;
+        long iterations = 1;
+        String salt = "";
+        String hash = null;
+        List<String> roleNames = new ArrayList<>(2);
+        json.expect('{');
+        while (!json.tryConsume('}')) {
+            String key = json.string();
+            json.expect(':');
+            switch (key) {
+                case "username" -> username = json.string();
+                case "role" -> roleNames.add(json.string());
+                case "roles" -> json.stringArray(roleNames);
+                case "algorithm" -> algorithm = json.string();
+                case "iterations" -> iterations = json.number();
+                case "salt" -> salt = json.string();
+                case "hash" -> hash = json.string();
+                default -> json.skipValue();
+            }
+            json.tryConsume(',');
+        }
+        if (username == null || hash == null) throw new IllegalArgumentException("username and hash are required");
+        store(username, roleNames.toArray(new String[0]), algorithm, iterations, salt, hash);
+    }
+
+    private void store(String username, String[] roleNames, String algorithm, long iterations, String salt, String hash) {
+        if (username.isEmpty() || roleNames.length == 0 || roleNames[0].isBlank()) {
+            throw new IllegalArgumentException("username and role are required");
+        }
+        int[] roleIds = new int[roleNames.length];
+        for (int i = 0; i < roleNames.length; i++) {
+            roleIds[i] = roles.idOf(roleNames[i].trim());
+            if (roleIds[i] == RoleRegistry.UNKNOWN) throw new IllegalArgumentException("unknown role " + roleNames[i].trim());
+        }
+        String canonical = canonicalAlgorithm(algorithm);
+        byte[] digest = Base64.getDecoder().decode(hash);
+        CredentialHash credential = new CredentialHash(canonical, checkIterations(canonical, iterations),
+                salt.isEmpty() ? new byte[0] : Base64.getDecoder().decode(salt), digest);
+        store.put(username, UserRecord.of(credential, roleIds[0]));
+        if (authorization == null) {
+            if (roleIds.length > 1) rolesNotApplied.increment();
+        } else if (roleIds.length > 1) {
+            authorization.assignRoles(username, roleIds);
+        } else {
+            authorization.refreshPrimaryRole(username);
+        }
+        imported.increment();
+    }
+
+    // One shared String per algorithm instead of one per imported record.
+    private static String canonicalAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case Sha256Hasher.ALGORITHM -> Sha256Hasher.ALGORITHM;
+            case Pbkdf2Hasher.ALGORITHM -> Pbkdf2Hasher.ALGORITHM;
+            default -> throw new IllegalArgumentException("unsupported algorithm " + algorithm);
+        };
+    }
+
+    // The bounds each hasher accepts, so no record can fail or stall its first login.
+    private static int checkIterations(String algorithm, long iterations) {
+        boolean valid = algorithm.equals(Sha256Hasher.ALGORITHM)
+                ? iterations == 1
+                : iterations >= Pbkdf2Hasher.MIN_ITERATIONS && iterations <= Pbkdf2Hasher.MAX_ITERATIONS;
+        if (!valid) throw new IllegalArgumentException("iterations " + iterations + " out of range for " + algorithm);
+        return (int) iterations;
+    }
+
+    private void reject(long lineNumber, String reason) {
+        rejected.increment();
+        if (loggedRejects.incrementAndGet() <= MAX_LOGGED_REJECTS) {
+            logger.log(Level.WARNING, "Skipping import line {0}: {1}", new Object[]{lineNumber, reason});
+        }
+    }
+
+    // Just enough JSON for one flat object per line: strings, numbers, arrays of strings.
+    private static final class FlatJson {
+        private final String text;
+        private int pos;
+
+        FlatJson(String text) {
+            this.text = text;
+        }
+
+        void expect(char c) {
+            if (!tryConsume(c)) throw new IllegalArgumentException("expected '" + c + "' at " + pos);
+        }
+
+        boolean tryConsume(char c) {
+            skipSpace();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder out = null;
+            int start = pos;
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') return out == null ? text.substring(start, pos - 1) : out.toString();
+                if (c == '\\') {
+                    if (out == null) out = new StringBuilder(text.substring(start, pos - 1));
+                    char escaped = text.charAt(pos++);
+                    switch (escaped) {
+                        case 'n' -> out.append('\n');
+                        case 't' -> out.append('\t');
+                        case 'u' -> {
+                            out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                            pos += 4;
+                        }
+                        default -> out.append(escaped);
+                    }
+                } else if (out != null) {
+                    out.append(c);
+                }
+            }
+            throw new IllegalArgumentException("unterminated string");
+        }
+
+        long number() {
+            skipSpace();
+            int start = pos;
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '-')) pos++;
+            return Long.parseLong(text.substring(start, pos));
+        }
+
+        void stringArray(List<String> into) {
+            expect('[');
+            while (!tryConsume(']')) {
+                into.add(string());
+                tryConsume(',');
+            }
+        }
+
+        void skipValue() {
+            skipSpace();
+            char c = pos < text.length() ? text.charAt(pos) : 0;
+            if (c == '"') {
+                string();
+            } else if (c == '[') {
+                pos++;
+                int depth = 1;
+                while (depth > 0 && pos < text.length()) {
+                    char d = text.charAt(pos);
+                    if (d == '"') {
+                        string();
+                        continue;
+                    }
+                    if (d == '[') depth++;
+                    if (d == ']') depth--;
+                    pos++;
+                }
+            } else {
+                while (pos < text.length() && ",}".indexOf(text.charAt(pos)) < 0) pos++;
+            }
+        }
+
+        private void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java UserImporter <file> [csv|jsonl]");
+            return;
+        }
+        Path file = Path.of(args[0]);
+        Format format = args.length > 1 ? Format.valueOf(args[1].toUpperCase(Locale.ROOT)) : formatOf(file);
+        if (AuthConfig.getString("store.dir", "").isEmpty()) {
+            System.out.println("⚠️ store.dir is not set; imported users will not be persisted.");
+        }
+        RoleRegistry roles = RoleRegistry.fromConfig();
+        // No login server runs here, so there is no engine to grant secondary roles to.
+        UserImporter importer = fromConfig(CredentialStores.open(roles), roles, null);
+        importer.importFile(file, format, System.out);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * UserRecord.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+/**
+ * Immutable per-user credential record. Updates produce a new instance that is
+ * swapped into the store with {@link CredentialStore#replace}. Lockout state is
+ * tracked separately by {@link LoginThrottle}. The role is an id interned by {@link RoleRegistry}.
+ */
+public record UserRecord(CredentialHash credential, int roleId) {
+
+    public static UserRecord of(CredentialHash credential, int roleId) {
+        return new UserRecord(credential, roleId);
+    }
+
+    public UserRecord withCredential(CredentialHash upgraded) {
+        return new UserRecord(upgraded, roleId);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Utf8.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation-free UTF-8 encoding into a caller-owned buffer, shared by the PIN digest and
+ * the audit journal. Unpaired surrogates encode as '?'. A byte cap cuts the output on a
+ * character boundary, so a capped field is still valid UTF-8.
+ */
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    // Encoded length of s, capped at maxBytes on a character boundary.
+    static int length(CharSequence s, int maxBytes) {
+        if (s == null) return 0;
+        int bytes = 0;
+        for (int i = 0; i < s.length(); i++) {
+            int n = width(s, i);
+            if (bytes + n > maxBytes) break;
+            bytes += n;
+            if (n == 4) i++;
+        }
+        return bytes;
+    }
+
+    // Writes at most maxBytes of s at absolute position pos; returns the end position.
+    static int encode(CharSequence s, int maxBytes, ByteBuffer out, int pos) {
+        if (s == null) return pos;
+        int p = pos;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            int n = width(s, i);
+            if (p - pos + n > maxBytes) break;
+            switch (n) {
+                case 1 -> out.put(p, Character.isSurrogate(c) ? (byte) '?' : (byte) c);
+                case 2 -> {
+                    out.put(p, (byte) (0xC0 | (c >> 6)));
+                    out.put(p + 1, (byte) (0x80 | (c & 0x3F)));
+                }
+                case 3 -> {
+                    out.put(p, (byte) (0xE0 | (c >> 12)));
+                    out.put(p + 1, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                    out.put(p + 2, (byte) (0x80 | (c & 0x3F)));
+                }
+                default -> {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    out.put(p, (byte) (0xF0 | (cp >> 18)));
+                    out.put(p + 1, (byte) (0x80 | ((cp >> 12) & 0x3F)));
+                    out.put(p + 2, (byte) (0x80 | ((cp >> 6) & 0x3F)));
+                    out.put(p + 3, (byte) (0x80 | (cp & 0x3F)));
+                }
+            }
+            p += n;
+        }
+        return p;
+    }
+
+    private static int width(CharSequence s, int i) {
+        char c = s.charAt(i);
+        if (c < 0x80) return 1;
+        if (c < 0x800) return 2;
+        if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) return 4;
+        if (Character.isSurrogate(c)) return 1;
+        return 3;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * AuthPipelineFixture.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.java1kind.auth.bench.AuthPipeline;
+
+/**
+ * Wires the framework components the way {@link AuthFramework} does, minus its console,
+ * seeding and server, so each benchmark measures one stage of a login. Every user shares
+ * one PBKDF2 credential so building a million-user store costs a single hash.
+ *
+ * The PIN step is {@link AuthFramework#checkPin} itself: throttle check, verify on the hashing
+ * pool, decoy and upgrade checks. So the users go into AuthFramework's own store, and open()
+ * sets the store and hashing config before AuthFramework is first touched.
+ */
+public final class AuthPipelineFixture implements AuthPipeline {
+
+    private static final String PIN = "4269";
+    private static final String SOURCE = "bench";
+
+    private final PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+    private String[] usernames;
+    private int[] roleIds;
+    private CredentialStore store;
+    private Pbkdf2Hasher pbkdf2;
+    private Sha256Hasher sha256;
+    private CredentialHash legacyCredential;
+    private LoginThrottle throttle;
+    private TokenGenerator tokens;
+    private SignedTokens signedTokens;
+    private RoleRegistry roles;
+    private AuthorizationEngine authorization;
+    private int evidenceTag;
+    private Path auditDir;
+    private AuditSink audit;
+    private String sessionToken;
+
+    @Override
+    public void open(int userCount, String storeBackend, int pbkdf2Iterations) throws Exception {
+        System.setProperty("store.backend", storeBackend);
+        System.setProperty("store.expected.users", Integer.toString(userCount));
+        System.setProperty("store.dir", "");
+        System.setProperty("hash.algorithm", "pbkdf2");
+        System.setProperty("hash.pbkdf2.iterations", Integer.toString(pbkdf2Iterations));
+        roles = RoleRegistry.fromConfig();
+        pbkdf2 = new Pbkdf2Hasher(pbkdf2Iterations);
+        sha256 = new Sha256Hasher();
+        legacyCredential = sha256.hash(PIN);
+        // Heap or off-heap behind the username filter, as CredentialStores.open builds it.
+        store = AuthFramework.userStore();
+
+        CredentialHash credential = pbkdf2.hash(PIN);
+        int[] builtIn = {roles.idOf("Admin"), roles.idOf("Analyst"), roles.idOf("Guest")};
+        usernames = new String[userCount];
+        roleIds = new int[userCount];
+        for (int i = 0; i < userCount; i++) {
+            usernames[i] = "user" + i;
+            roleIds[i] = builtIn[i % builtIn.length];
+            store.put(usernames[i], UserRecord.of(credential, roleIds[i]));
+        }
+
+        throttle = LoginThrottle.fromConfig();
+        tokens = TokenGenerator.fromConfig();
+        signedTokens = SignedTokens.fromConfig(tokens);
+        authorization = AuthorizationEngine.fromConfig(roles);
+        authorization.setPrimaryRoleLookup(username -> {
+            UserRecord user = store.find(username);
+            return user == null ? RoleRegistry.UNKNOWN : user.roleId();
+        });
+        evidenceTag = authorization.intern("evidence.tag");
+        auditDir = Files.createTempDirectory("auth-bench");
+        // The sink AuthFramework would open for audit.sink, in a scratch directory.
+        audit = AuthConfig.getString("audit.sink", "text").equals("journal")
+                ? new AuditJournal(auditDir.resolve("audit_journal"), AuthConfig.getInt("audit.journal.segment.mb", 64) << 20)
+                : AsyncAuditAppender.fromConfig(auditDir.resolve("audit_log.txt").toString());
+        sessionToken = tokens.next();
+    }
+
+    @Override
+    public int userCount() {
+        return usernames.length;
+    }
+
+    @Override
+    public byte[] hashSha256(String pin) {
+        return Sha256Hasher.digest(pin);
+    }
+
+    @Override
+    public boolean verifySha256(String pin) {
+        return sha256.verify(pin, legacyCredential);
+    }
+
+    @Override
+    public boolean verifySha256Baseline(String pin) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Arrays.equals(digest.digest(pin.getBytes(StandardCharsets.UTF_8)), legacyCredential.hash());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Object hashPbkdf2(String pin) {
+        return pbkdf2.hash(pin);
+    }
+
+    @Override
+    public Object findUser(int user) {
+        return store.find(usernames[user]);
+    }
+
+    @Override
+    public boolean verifyPin(int user, String pin) {
+        return AuthFramework.checkPin(usernames[user], SOURCE, pin).join() == AuthFramework.PinOutcome.ACCEPTED;
+    }
+
+    @Override
+    public boolean lockoutCheck(int user) {
+        return throttle.check(usernames[user], SOURCE) == LoginThrottle.Decision.ALLOWED;
+    }
+
+    @Override
+    public int recordFailure(int user) {
+        return throttle.recordFailure(usernames[user], SOURCE);
+    }
+
+    @Override
+    public String nextToken() {
+        return tokens.next();
+    }
+
+    @Override
+    public String nextTokenBaseline() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public String issueSignedToken(int user) {
+        return signedTokens.issue(usernames[user], roles.nameOf(roleIds[user]));
+    }
+
+    @Override
+    public Object verifySignedToken(String token) {
+        return signedTokens.verify(token);
+    }
+
+    @Override
+    public boolean route(int user) {
+        return roles.route(roleIds[user], discard);
+    }
+
+    @Override
+    public boolean authorize(int user) {
+        return authorization.isAllowed(usernames[user], evidenceTag);
+    }
+
+    @Override
+    public void audit(int user) {
+        audit.login(AuditClock.nowEpochNanos(), usernames[user], roles.nameOf(roleIds[user]), true, sessionToken);
+    }
+
+    @Override
+    public void close() {
+        audit.close();
+        try (Stream<Path> files = Files.walk(auditDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception ignored) {
+        }
+    }
+}
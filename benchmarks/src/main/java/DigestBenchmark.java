@@ -0,0 +1,67 @@
+/*
+ * DigestBenchmark.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.lang.management.ManagementFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Compares the original verify path (MessageDigest.getInstance + getBytes + Arrays.equals)
+ * with the reused per-thread digest in {@link Sha256Hasher}: ns/op and heap bytes/op.
+ *
+ * Usage: java DigestBenchmark [operations]
+ */
+public class DigestBenchmark {
+
+    private static volatile boolean sink;
+
+    public static void main(String[] args) {
+        int ops = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        byte[] stored = Sha256Hasher.digest("4269");
+        String[] inputs = {"4269", "1234", "0000", "4268"};
+
+        for (int round = 0; round < 3; round++) {
+            boolean last = round == 2;
+            report("baseline getInstance+Arrays.equals", ops, last, () -> {
+                for (String input : inputs) sink ^= Arrays.equals(legacyHash(input), stored);
+            });
+            report("thread-local digest+isEqual", ops, last, () -> {
+                for (String input : inputs) sink ^= Sha256Hasher.matches(input, stored);
+            });
+        }
+    }
+
+    private static void report(String name, int ops, boolean print, Runnable fourVerifies) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        int loops = ops / 4;
+        long bytesBefore = threads.getThreadAllocatedBytes(id);
+        long start = System.nanoTime();
+        for (int i = 0; i < loops; i++) fourVerifies.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(id) - bytesBefore;
+        if (print) {
+            System.out.printf("%-38s %8.1f ns/op %8.1f B/op%n", name, (double) elapsed / (loops * 4),
+                    (double) allocated / (loops * 4));
+        }
+    }
+
+    // The hash path as it was before digests were reused.
+    private static byte[] legacyHash(String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return digest.digest(input.getBytes());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available");
+        }
+    }
+}
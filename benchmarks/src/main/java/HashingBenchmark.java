@@ -0,0 +1,79 @@
+/*
+ * HashingBenchmark.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures PIN verification through {@link HashingService} at several PBKDF2 work factors.
+ * One closed-loop client per core submits a verification and waits for it, so the
+ * reported p50/p99 is per-verification latency rather than queueing behind a burst.
+ *
+ * Usage: java HashingBenchmark [seconds per work factor] [iterations...]
+ */
+public class HashingBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 3;
+        int[] workFactors = args.length > 1
+                ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1_000, 10_000, 100_000, 310_000};
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-12s %12s %14s %10s %10s%n", "iterations", "verify/s", "verify/s/core", "p50 ms", "p99 ms");
+        for (int iterations : workFactors) {
+            Pbkdf2Hasher hasher = new Pbkdf2Hasher(iterations);
+            HashingService service = new HashingService(hasher, cores, cores * 2);
+            CredentialHash stored = hasher.hash("4269");
+
+            measure(service, stored, cores, seconds / 3);
+            long[] latencies = measure(service, stored, cores, seconds);
+            service.shutdown();
+
+            double perSecond = latencies.length / seconds;
+            System.out.printf("%-12d %12.1f %14.1f %10.2f %10.2f%n", iterations, perSecond, perSecond / cores,
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+        }
+    }
+
+    private static long[] measure(HashingService service, CredentialHash stored, int clients, double seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        List<long[]> perClient = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            long[][] samples = {new long[1024]};
+            int[] count = {0};
+            Thread t = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    service.verify("4269", stored).join();
+                    if (count[0] == samples[0].length) samples[0] = Arrays.copyOf(samples[0], count[0] * 2);
+                    samples[0][count[0]++] = System.nanoTime() - start;
+                }
+                synchronized (perClient) {
+                    perClient.add(Arrays.copyOf(samples[0], count[0]));
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) t.join();
+
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return all.length == 0 ? new long[]{0} : all;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+}
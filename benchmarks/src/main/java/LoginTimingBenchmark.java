@@ -0,0 +1,97 @@
+/*
+ * LoginTimingBenchmark.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures whether PIN-step timing leaks account existence. Wrong-PIN attempts for a known
+ * user on the current hash, a known user still on the legacy hash, and a name that does not
+ * exist are interleaved at random through {@link AuthFramework#checkPin}. For each group it
+ * reports the latency distribution, plus the Kolmogorov-Smirnov distance to the unknown-user
+ * group with its 99% critical value.
+ *
+ * Lockout and source limits are lifted for the run. The PBKDF2 work factor defaults to 10k
+ * so a run takes seconds; pass -Dhash.pbkdf2.iterations to measure the production setting.
+ *
+ * Usage: java LoginTimingBenchmark [samples per group]
+ */
+public class LoginTimingBenchmark {
+
+    private static final String[] GROUPS = {"known", "legacy", "unknown"};
+
+    public static void main(String[] args) throws InterruptedException {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        System.setProperty("lockout.max.attempts", "65535");
+        System.setProperty("lockout.window.ms", "1");
+        System.setProperty("ratelimit.source.max.failures", "65535");
+        System.setProperty("ratelimit.source.window.ms", "1");
+        if (System.getProperty("hash.pbkdf2.iterations") == null) System.setProperty("hash.pbkdf2.iterations", "10000");
+
+        // A successful login moves admin onto the current hash; guest stays on the legacy one.
+        AuthFramework.checkPin("admin", "bench", "4269").join();
+        for (int i = 0; i < 500 && AuthFramework.findUser("admin").credential().algorithm().equals(Sha256Hasher.ALGORITHM); i++) {
+            Thread.sleep(10);
+        }
+        String[] users = {"admin", "guest", "no-such-user-" + ThreadLocalRandom.current().nextInt(1_000_000)};
+
+        measure(users, samples / 10);
+        long[][] latencies = measure(users, samples);
+
+        System.out.printf("%-8s %8s %10s %10s %10s %10s %10s %8s %8s%n",
+                "group", "n", "mean us", "p10 us", "p50 us", "p90 us", "p99 us", "KS D", "D 99%");
+        long[] unknown = latencies[2];
+        for (int g = 0; g < GROUPS.length; g++) {
+            long[] sorted = latencies[g];
+            double critical = 1.628 * Math.sqrt((double) (sorted.length + unknown.length) / ((double) sorted.length * unknown.length));
+            System.out.printf("%-8s %8d %10.1f %10.1f %10.1f %10.1f %10.1f %8.3f %8.3f%n", GROUPS[g], sorted.length,
+                    Arrays.stream(sorted).average().orElse(0) / 1e3, percentile(sorted, 0.10) / 1e3,
+                    percentile(sorted, 0.50) / 1e3, percentile(sorted, 0.90) / 1e3, percentile(sorted, 0.99) / 1e3,
+                    ksDistance(sorted, unknown), critical);
+        }
+        System.exit(0);
+    }
+
+    // Interleaves the groups at random so drift (JIT, GC, frequency scaling) hits all of them alike.
+    private static long[][] measure(String[] users, int samples) {
+        long[][] latencies = new long[users.length][samples];
+        int[] counts = new int[users.length];
+        int remaining = samples * users.length;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (remaining > 0) {
+            int g = random.nextInt(users.length);
+            if (counts[g] == samples) continue;
+            long start = System.nanoTime();
+            AuthFramework.checkPin(users[g], "bench", "0000").join();
+            latencies[g][counts[g]++] = System.nanoTime() - start;
+            remaining--;
+        }
+        for (long[] group : latencies) Arrays.sort(group);
+        return latencies;
+    }
+
+    private static double ksDistance(long[] a, long[] b) {
+        int i = 0;
+        int j = 0;
+        double max = 0;
+        while (i < a.length && j < b.length) {
+            long value = Math.min(a[i], b[j]);
+            while (i < a.length && a[i] <= value) i++;
+            while (j < b.length && b[j] <= value) j++;
+            max = Math.max(max, Math.abs((double) i / a.length - (double) j / b.length));
+        }
+        return max;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+}
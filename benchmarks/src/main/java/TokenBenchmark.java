@@ -0,0 +1,77 @@
+/*
+ * TokenBenchmark.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of {@link TokenGenerator} against UUID.randomUUID().toString() at
+ * 1, 2, 4, 8, 16, 32 and 64 threads. Each cell runs for a fixed wall-clock window
+ * after a warm-up pass.
+ *
+ * Usage: java TokenBenchmark [millisPerCell] [bits]
+ */
+public class TokenBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private static volatile int sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int bits = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+        TokenGenerator generator = new TokenGenerator(bits);
+
+        run(() -> UUID.randomUUID().toString(), 4, millis);
+        run(generator::next, 4, millis);
+
+        System.out.printf("%8s %16s %22s %8s%n", "threads", "UUID ops/s", "TokenGenerator ops/s", "ratio");
+        for (int threads : THREADS) {
+            double uuid = run(() -> UUID.randomUUID().toString(), threads, millis);
+            double drbg = run(generator::next, threads, millis);
+            System.out.printf("%8d %16.0f %22.0f %7.2fx%n", threads, uuid, drbg, drbg / uuid);
+        }
+        System.out.printf("generator: %d tokens from %d per-thread DRBGs%n",
+                generator.generatedCount(), generator.instanceCount());
+    }
+
+    private static double run(Supplier<String> source, int threads, long millis) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int local = 0;
+                long count = 0;
+                while (System.nanoTime() < deadline[0]) {
+                    for (int i = 0; i < 64; i++) local += source.get().length();
+                    count += 64;
+                }
+                ops.add(count);
+                sink += local;
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + millis * 1_000_000;
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        return ops.sum() * 1e9 / (System.nanoTime() - begin);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * AuthPipeline.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+package org.java1kind.auth.bench;
+
+/**
+ * The login pipeline as the benchmarks see it. The framework lives in the default package,
+ * which a named package cannot import and JMH will not generate code for, so the
+ * benchmarks call it through this interface. It is implemented by the default-package
+ * {@code AuthPipelineFixture} and loaded once per trial.
+ */
+public interface AuthPipeline {
+
+    // Builds a store of userCount users (heap or offheap backend) behind the username filter.
+    void open(int userCount, String storeBackend, int pbkdf2Iterations) throws Exception;
+
+    int userCount();
+
+    byte[] hashSha256(String pin);
+
+    // Legacy-hash check through the per-thread digest and a constant-time compare.
+    boolean verifySha256(String pin);
+
+    // The same check the way it was first written: MessageDigest.getInstance and Arrays.equals per call.
+    boolean verifySha256Baseline(String pin);
+
+    Object hashPbkdf2(String pin);
+
+    Object findUser(int user);
+
+    // The PIN step of a login, through AuthFramework.checkPin; true if the PIN was accepted.
+    boolean verifyPin(int user, String pin);
+
+    boolean lockoutCheck(int user);
+
+    int recordFailure(int user);
+
+    String nextToken();
+
+    // UUID.randomUUID().toString(), the token format TokenGenerator replaced.
+    String nextTokenBaseline();
+
+    String issueSignedToken(int user);
+
+    Object verifySignedToken(String token);
+
+    boolean route(int user);
+
+    boolean authorize(int user);
+
+    void audit(int user);
+
+    void close();
+
+    static AuthPipeline load() throws ReflectiveOperationException {
+        return (AuthPipeline) Class.forName("AuthPipelineFixture").getDeclaredConstructor().newInstance();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * AuthPipelineBenchmark.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+package org.java1kind.auth.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One benchmark per login stage: hashing, user lookup, PIN verification, lockout, session
+ * tokens, role routing, authorization and audit logging. The *Baseline benchmarks run the
+ * code a stage replaced, so each report carries its own before/after. The user-base size and store
+ * backend are JMH parameters. Thread count comes from the command line (-t) or from
+ * {@link BenchmarkRunner}, which sweeps it. Each thread picks users at random so lookups
+ * cover the whole table rather than one hot entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:MaxDirectMemorySize=4g"})
+public class AuthPipelineBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int users;
+
+    @Param({"heap", "offheap"})
+    public String store;
+
+    @Param({"10000"})
+    public int pbkdf2Iterations;
+
+    private AuthPipeline pipeline;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom();
+        String token;
+
+        int user(AuthPipelineBenchmark bench) {
+            return random.nextInt(bench.users);
+        }
+
+        @Setup(Level.Trial)
+        public void issue(AuthPipelineBenchmark bench) {
+            token = bench.pipeline.issueSignedToken(user(bench));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void open() throws Exception {
+        pipeline = AuthPipeline.load();
+        pipeline.open(users, store, pbkdf2Iterations);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public byte[] hashSha256() {
+        return pipeline.hashSha256("4269");
+    }
+
+    @Benchmark
+    public boolean verifySha256() {
+        return pipeline.verifySha256("4269");
+    }
+
+    @Benchmark
+    public boolean verifySha256Baseline() {
+        return pipeline.verifySha256Baseline("4269");
+    }
+
+    @Benchmark
+    public Object hashPbkdf2() {
+        return pipeline.hashPbkdf2("4269");
+    }
+
+    @Benchmark
+    public Object findUser(Cursor cursor) {
+        return pipeline.findUser(cursor.user(this));
+    }
+
+    @Benchmark
+    public boolean verifyPin(Cursor cursor) {
+        return pipeline.verifyPin(cursor.user(this), "4269");
+    }
+
+    @Benchmark
+    public boolean lockoutCheck(Cursor cursor) {
+        return pipeline.lockoutCheck(cursor.user(this));
+    }
+
+    @Benchmark
+    public int lockoutRecordFailure(Cursor cursor) {
+        return pipeline.recordFailure(cursor.user(this));
+    }
+
+    @Benchmark
+    public String tokenOpaque() {
+        return pipeline.nextToken();
+    }
+
+    @Benchmark
+    public String tokenUuidBaseline() {
+        return pipeline.nextTokenBaseline();
+    }
+
+    @Benchmark
+    public String tokenSignedIssue(Cursor cursor) {
+        return pipeline.issueSignedToken(cursor.user(this));
+    }
+
+    @Benchmark
+    public Object tokenSignedVerify(Cursor cursor) {
+        return pipeline.verifySignedToken(cursor.token);
+    }
+
+    @Benchmark
+    public boolean routeRole(Cursor cursor) {
+        return pipeline.route(cursor.user(this));
+    }
+
+    @Benchmark
+    public boolean authorize(Cursor cursor) {
+        return pipeline.authorize(cursor.user(this));
+    }
+
+    @Benchmark
+    public void auditAppend(Cursor cursor) {
+        pipeline.audit(cursor.user(this));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * BenchmarkRunner.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+package org.java1kind.auth.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link AuthPipelineBenchmark} once per thread count and writes one JSON result file
+ * per run (jmh-t<threads>.json), so release-to-release throughput can be diffed.
+ *
+ * Usage: java [-Dbench.threads=1,4,16] [-Dbench.users=10000,1000000] [-Dbench.store=heap,offheap]
+ *             [-Dbench.out=.] -jar benchmarks.jar [benchmark name regex]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = AuthPipelineBenchmark.class.getName() + "." + (args.length > 0 ? args[0] : "");
+        String out = System.getProperty("bench.out", ".");
+        for (String threads : System.getProperty("bench.threads", "1,4,16").split(",")) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(out + "/jmh-t" + threads.trim() + ".json");
+            param(options, "users", "bench.users");
+            param(options, "store", "bench.store");
+            param(options, "pbkdf2Iterations", "bench.pbkdf2.iterations");
+            new Runner(options.build()).run();
+        }
+    }
+
+    private static void param(ChainedOptionsBuilder options, String name, String property) {
+        String values = System.getProperty(property);
+        if (values != null) options.param(name, values.split(","));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * AsyncAuditAppenderTest.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AsyncAuditAppenderTest {
+
+    // Long enough that nothing is committed on the timer while a test runs.
+    private static final long NEVER_MS = TimeUnit.MINUTES.toMillis(10);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void closeWritesEverythingStillQueued() throws IOException {
+        Path file = dir.resolve("audit_log.txt");
+        AsyncAuditAppender appender = new AsyncAuditAppender(file, 1 << 17, 1 << 17, NEVER_MS,
+                AsyncAuditAppender.Durability.OS_BUFFERED);
+        int entries = 100_000;
+        for (int i = 0; i < entries; i++) appender.append("entry " + i + "\n");
+        appender.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(entries, lines.size());
+        assertEquals("entry 0", lines.get(0));
+        assertEquals("entry " + (entries - 1), lines.get(entries - 1));
+        assertEquals(entries, appender.writtenCount());
+    }
+
+    @Test
+    void closeWakesAnIdleWriter() throws IOException {
+        Path file = dir.resolve("audit_log.txt");
+        AsyncAuditAppender appender = new AsyncAuditAppender(file, 16, 16, NEVER_MS,
+                AsyncAuditAppender.Durability.FSYNC);
+        appender.append("only entry\n");
+        long start = System.nanoTime();
+        appender.close();
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "close() waited for the flush timer");
+        assertEquals(List.of("only entry"), Files.readAllLines(file));
+    }
+}
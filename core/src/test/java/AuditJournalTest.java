@@ -0,0 +1,99 @@
+/*
+ * AuditJournalTest.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditJournalTest {
+
+    private static final int SEGMENT_BYTES = 1 << 20;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveReopenAcrossSegments() throws IOException {
+        int records = 30_000;
+        try (AuditJournal journal = new AuditJournal(dir, SEGMENT_BYTES)) {
+            for (int i = 0; i < records; i++) journal.login(i, "user" + i, "Guest", i % 2 == 0, "token" + i);
+        }
+        assertTrue(AuditJournal.segments(dir).size() > 1);
+        try (AuditJournal journal = new AuditJournal(dir, SEGMENT_BYTES)) {
+            journal.evidence(records, "user0", "EV-1", "after reopen");
+        }
+
+        List<AuditRecord> read = scan();
+        assertEquals(records + 1, read.size());
+        for (int i = 0; i < records; i++) {
+            AuditRecord record = read.get(i);
+            assertEquals("user" + i, record.username());
+            assertEquals("token" + i, record.token());
+            assertEquals(i % 2 == 0, record.success());
+            assertEquals(i, record.epochNanos());
+        }
+        assertEquals("after reopen", read.get(records).note());
+    }
+
+    @Test
+    void aTornRecordLeavesNoPhantomBehindAShorterOne() throws IOException {
+        try (AuditJournal journal = new AuditJournal(dir, SEGMENT_BYTES)) {
+            journal.login(1, "alice", "Admin", true, "t1");
+        }
+        Path segment = AuditJournal.segments(dir).get(0);
+        byte[] whole;
+        int end;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            end = AuditJournal.endOfRecords(buffer);
+            whole = new byte[end];
+            buffer.get(0, whole);
+            // A crash mid-append: the body of a longer record is on disk but its length is not.
+            // Inside it, where the next record after a short one would start, sits a valid copy.
+            int shortLength = loginLength("bob", "Guest", "t2");
+            buffer.put(end + shortLength, whole);
+            buffer.force();
+        }
+
+        try (AuditJournal journal = new AuditJournal(dir, SEGMENT_BYTES)) {
+            journal.login(2, "bob", "Guest", false, "t2");
+        }
+
+        List<AuditRecord> read = scan();
+        assertEquals(2, read.size());
+        assertEquals("alice", read.get(0).username());
+        assertEquals("bob", read.get(1).username());
+        assertEquals(end, (int) read.get(1).position());
+    }
+
+    private List<AuditRecord> scan() throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        new AuditJournalReader(dir).scan(records::add);
+        return records;
+    }
+
+    private static int loginLength(String... fields) {
+        int length = AuditJournal.HEADER_BYTES;
+        for (String field : fields) length += 2 + field.getBytes(StandardCharsets.UTF_8).length;
+        return length;
+    }
+}
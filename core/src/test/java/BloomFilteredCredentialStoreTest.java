@@ -0,0 +1,79 @@
+/*
+ * BloomFilteredCredentialStoreTest.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BloomFilteredCredentialStoreTest {
+
+    private static final UserRecord RECORD =
+            UserRecord.of(new CredentialHash(Sha256Hasher.ALGORITHM, 1, new byte[0], new byte[32]), 0);
+
+    @Test
+    void unknownNamesNeverReachTheStore() {
+        BloomFilteredCredentialStore store = new BloomFilteredCredentialStore(new InMemoryCredentialStore(), 1_000, 1_200_000);
+        for (int i = 0; i < 1_000; i++) store.put("user" + i, RECORD);
+
+        for (int i = 0; i < 10_000; i++) assertNull(store.find("stranger" + i));
+        assertTrue(store.filteredCount() > 9_000, "filtered " + store.filteredCount());
+    }
+
+    @Test
+    void usersAddedDuringRebuildsAreNeverFilteredOut() throws InterruptedException {
+        // Sized for 16 users, so the writers force one rebuild after another.
+        BloomFilteredCredentialStore store = new BloomFilteredCredentialStore(new InMemoryCredentialStore(), 16, 1_200_000);
+        int threads = 8;
+        int perThread = 50_000;
+        AtomicInteger misses = new AtomicInteger();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int writer = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    String username = "w" + writer + "-" + i;
+                    store.put(username, RECORD);
+                    if (store.find(username) == null) misses.incrementAndGet();
+                }
+            });
+            writers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : writers) thread.join();
+
+        assertEquals(0, misses.get());
+        assertEquals(threads * perThread, store.size());
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) assertNotNull(store.find("w" + t + "-" + i));
+        }
+    }
+
+    @Test
+    void removalsDoNotHideRemainingUsers() {
+        BloomFilteredCredentialStore store = new BloomFilteredCredentialStore(new InMemoryCredentialStore(), 10_000, 1_200_000);
+        for (int i = 0; i < 10_000; i++) store.put("user" + i, RECORD);
+        // Removing more than a quarter of the capacity starts a background rebuild; whether
+        // or not it has finished, every remaining user must stay visible.
+        for (int i = 0; i < 10_000; i += 2) store.remove("user" + i);
+
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 2 == 0) assertNull(store.find("user" + i)); else assertNotNull(store.find("user" + i));
+        }
+        assertEquals(5_000, store.size());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * HierarchicalTimerWheelTest.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimerWheelTest {
+
+    private static final long TICK_MS = 100;
+
+    @Test
+    void neverFiresBeforeTheDeadline() {
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK_MS, 0);
+        long[] deadlines = {500, 501, 550, 599};
+        for (long deadline : deadlines) wheel.schedule(deadline, deadline);
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = 1; now <= 1000; now++) {
+            long at = now;
+            wheel.advance(now, deadline -> firedAt.put(deadline, at));
+        }
+
+        assertEquals(deadlines.length, firedAt.size());
+        for (long deadline : deadlines) {
+            long at = firedAt.get(deadline);
+            assertTrue(at >= deadline && at < deadline + TICK_MS, "deadline " + deadline + " fired at " + at);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesFarDeadlinesDownToTheirTick() {
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK_MS, 0);
+        // One per level: within 64 ticks, 64², 64³ and beyond the top level's reach.
+        long[] deadlines = {3_050, 64L * 64 * TICK_MS + 70, 64L * 64 * 64 * TICK_MS + 10, 64L * 64 * 64 * 64 * TICK_MS * 2};
+        for (long deadline : deadlines) wheel.schedule(deadline, deadline);
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        long end = deadlines[deadlines.length - 1] + TICK_MS;
+        for (long now = TICK_MS; now <= end; now += TICK_MS) {
+            long at = now;
+            wheel.advance(now, deadline -> firedAt.put(deadline, at));
+        }
+
+        assertEquals(deadlines.length, firedAt.size());
+        for (long deadline : deadlines) {
+            long at = firedAt.get(deadline);
+            assertTrue(at >= deadline && at < deadline + TICK_MS, "deadline " + deadline + " fired at " + at);
+        }
+        assertEquals(0, wheel.size());
+    }
+}
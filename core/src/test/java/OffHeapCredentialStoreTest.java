@@ -0,0 +1,116 @@
+/*
+ * OffHeapCredentialStoreTest.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OffHeapCredentialStoreTest {
+
+    @Test
+    void survivesGrowthAndBackwardShiftRemoval() {
+        // One small segment, so it grows several times and probe chains get long.
+        OffHeapCredentialStore store = new OffHeapCredentialStore(4, 1);
+        long initialBytes = store.memoryBytes();
+        int users = 5_000;
+        for (int i = 0; i < users; i++) store.put("user" + i, record(i, i % 3));
+        assertEquals(users, store.size());
+        assertTrue(store.memoryBytes() > initialBytes);
+
+        for (int i = 0; i < users; i += 2) assertNotNull(store.remove("user" + i));
+        assertNull(store.remove("user0"));
+        assertEquals(users / 2, store.size());
+
+        for (int i = 0; i < users; i++) {
+            UserRecord found = store.find("user" + i);
+            if (i % 2 == 0) {
+                assertNull(found, "user" + i);
+            } else {
+                assertNotNull(found, "user" + i);
+                assertArrayEquals(digest(i), found.credential().hash(), "user" + i);
+                assertEquals(i % 3, found.roleId(), "user" + i);
+                assertEquals(100_000 + i, found.credential().iterations(), "user" + i);
+            }
+        }
+    }
+
+    @Test
+    void forEachVisitsEveryRecordOnce() {
+        OffHeapCredentialStore store = new OffHeapCredentialStore(16, 4);
+        for (int i = 0; i < 1_000; i++) store.put("user" + i, record(i, 1));
+        store.put(longName(), record(7, 2));
+
+        Map<String, UserRecord> seen = new HashMap<>();
+        store.forEach((username, record) -> assertNull(seen.put(username, record), username));
+        assertEquals(1_001, seen.size());
+        assertEquals(2, seen.get(longName()).roleId());
+    }
+
+    @Test
+    void recordsThatDoNotFitASlotMoveToTheOverflowMapAndBack() {
+        OffHeapCredentialStore store = new OffHeapCredentialStore(16, 1);
+        long slotBytes = store.memoryBytes();
+        store.put(longName(), record(1, 0));
+        assertEquals(1, store.size());
+        assertEquals(slotBytes, store.memoryBytes());
+        assertArrayEquals(digest(1), store.find(longName()).credential().hash());
+
+        UserRecord wide = UserRecord.of(new CredentialHash(Pbkdf2Hasher.ALGORITHM, 1, new byte[32], new byte[64]), 1);
+        store.put("alice", record(2, 0));
+        store.put("alice", wide);
+        assertEquals(2, store.size());
+        assertEquals(64, store.find("alice").credential().hash().length);
+
+        assertTrue(store.replace("alice", wide, record(3, 1)));
+        assertEquals(2, store.size());
+        assertArrayEquals(digest(3), store.find("alice").credential().hash());
+
+        assertNotNull(store.remove(longName()));
+        assertNotNull(store.remove("alice"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void replaceComparesContentsNotIdentity() {
+        OffHeapCredentialStore store = new OffHeapCredentialStore(16, 1);
+        store.put("alice", record(1, 0));
+
+        assertTrue(store.replace("alice", record(1, 0), record(2, 0)));
+        assertFalse(store.replace("alice", record(1, 0), record(3, 0)));
+        assertFalse(store.replace("alice", record(2, 1), record(3, 0)));
+        assertArrayEquals(digest(2), store.find("alice").credential().hash());
+        assertFalse(store.replace("nobody", record(1, 0), record(2, 0)));
+    }
+
+    private static String longName() {
+        return "a-username-longer-than-thirty-one-bytes";
+    }
+
+    private static UserRecord record(int seed, int roleId) {
+        byte[] salt = ByteBuffer.allocate(16).putInt(seed).array();
+        return UserRecord.of(new CredentialHash(Pbkdf2Hasher.ALGORITHM, 100_000 + seed, salt, digest(seed)), roleId);
+    }
+
+    private static byte[] digest(int seed) {
+        ByteBuffer digest = ByteBuffer.allocate(32);
+        while (digest.hasRemaining()) digest.putInt(seed * 31 + digest.position());
+        return digest.array();
+    }
+}
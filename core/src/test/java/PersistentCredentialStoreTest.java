@@ -0,0 +1,180 @@
+/*
+ * PersistentCredentialStoreTest.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentCredentialStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversSnapshotPlusWalTail() throws IOException {
+        RoleRegistry roles = new RoleRegistry();
+        int admin = roles.intern("Admin");
+        int guest = roles.intern("Guest");
+        PersistentCredentialStore store = open(new InMemoryCredentialStore(), roles);
+        store.put("alice", record("alice", admin));
+        store.put("bob", record("bob", guest));
+        store.put("carol", record("carol", guest));
+        store.snapshot();
+        store.put("dave", record("dave", admin));
+        store.remove("bob");
+        assertTrue(store.replace("carol", store.find("carol"), record("carol-upgraded", admin)));
+        store.close();
+
+        assertEquals(1, files("snapshot-").size());
+        RoleRegistry reloaded = new RoleRegistry();
+        PersistentCredentialStore recovered = open(new InMemoryCredentialStore(), reloaded);
+        try {
+            assertEquals(3, recovered.size());
+            assertEquals(6, recovered.lastSequence());
+            assertNull(recovered.find("bob"));
+            assertRecord(recovered, "alice", "alice", "Admin", reloaded);
+            assertRecord(recovered, "carol", "carol-upgraded", "Admin", reloaded);
+            assertRecord(recovered, "dave", "dave", "Admin", reloaded);
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void truncatesATornRecordAndKeepsAppending() throws IOException {
+        RoleRegistry roles = new RoleRegistry();
+        int guest = roles.intern("Guest");
+        PersistentCredentialStore store = open(new InMemoryCredentialStore(), roles);
+        store.put("alice", record("alice", guest));
+        store.put("bob", record("bob", guest));
+        store.close();
+
+        Path wal = files("wal-").get(0);
+        long intact = Files.size(wal);
+        byte[] whole = Files.readAllBytes(wal);
+        // The first half of a copy of the last record: a length and CRC with too few bytes behind them.
+        Files.write(wal, Arrays.copyOfRange(whole, whole.length / 2, whole.length - 10), StandardOpenOption.APPEND);
+
+        PersistentCredentialStore recovered = open(new InMemoryCredentialStore(), roles);
+        assertEquals(2, recovered.size());
+        assertEquals(2, recovered.lastSequence());
+        assertEquals(intact, Files.size(wal));
+        recovered.put("carol", record("carol", guest));
+        recovered.close();
+
+        PersistentCredentialStore again = open(new InMemoryCredentialStore(), roles);
+        try {
+            assertEquals(3, again.size());
+            assertNotNull(again.find("carol"));
+        } finally {
+            again.close();
+        }
+    }
+
+    @Test
+    void stopsAtACorruptRecord() throws IOException {
+        RoleRegistry roles = new RoleRegistry();
+        int guest = roles.intern("Guest");
+        PersistentCredentialStore store = open(new InMemoryCredentialStore(), roles);
+        store.put("alice", record("alice", guest));
+        store.put("carol", record("carol", guest));
+        store.close();
+
+        Path wal = files("wal-").get(0);
+        byte[] bytes = Files.readAllBytes(wal);
+        bytes[bytes.length - 1] ^= 0x5A;
+        Files.write(wal, bytes);
+        // Both records have the same length; the second one fails its CRC.
+        long firstRecord = bytes.length / 2;
+
+        PersistentCredentialStore recovered = open(new InMemoryCredentialStore(), roles);
+        try {
+            assertEquals(1, recovered.size());
+            assertNull(recovered.find("carol"));
+            assertEquals(firstRecord, Files.size(wal));
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void refusesAWalThatSkipsSequences() throws IOException {
+        RoleRegistry roles = new RoleRegistry();
+        int guest = roles.intern("Guest");
+        PersistentCredentialStore store = open(new InMemoryCredentialStore(), roles);
+        store.put("alice", record("alice", guest));
+        store.snapshot();
+        store.put("bob", record("bob", guest));
+        store.close();
+
+        // Without the snapshot, the remaining WAL starts after records nobody has any more.
+        for (Path snapshot : files("snapshot-")) Files.delete(snapshot);
+        assertThrows(IOException.class, () -> open(new InMemoryCredentialStore(), roles));
+    }
+
+    @Test
+    void startupFailsWhenTheConfiguredStoreCannotBeOpened() throws IOException {
+        Path blocker = Files.writeString(dir.resolve("not-a-directory"), "");
+        System.setProperty("store.dir", blocker.resolve("store").toString());
+        System.setProperty("store.bloom.bytes.per.million", "0");
+        try {
+            assertThrows(IllegalStateException.class, () -> CredentialStores.open(new RoleRegistry()));
+
+            System.setProperty("store.allow.ephemeral", "true");
+            CredentialStore ephemeral = CredentialStores.open(new RoleRegistry());
+            assertFalse(ephemeral instanceof PersistentCredentialStore);
+        } finally {
+            System.clearProperty("store.dir");
+            System.clearProperty("store.bloom.bytes.per.million");
+            System.clearProperty("store.allow.ephemeral");
+        }
+    }
+
+    private PersistentCredentialStore open(CredentialStore memory, RoleRegistry roles) throws IOException {
+        return PersistentCredentialStore.open(dir, memory, roles, false, 0, 2);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries.filter(p -> p.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    // The hash bytes spell the label, so a recovered record shows which write it came from.
+    private static UserRecord record(String label, int roleId) {
+        byte[] hash = label.getBytes(StandardCharsets.UTF_8);
+        return UserRecord.of(new CredentialHash(Sha256Hasher.ALGORITHM, 1, new byte[] {1, 2, 3, 4}, hash), roleId);
+    }
+
+    private static void assertRecord(CredentialStore store, String username, String label, String role,
+                                     RoleRegistry roles) {
+        UserRecord found = store.find(username);
+        assertNotNull(found, username);
+        assertArrayEquals(label.getBytes(StandardCharsets.UTF_8), found.credential().hash(), username);
+        assertEquals(role, roles.nameOf(found.roleId()), username);
+    }
+}
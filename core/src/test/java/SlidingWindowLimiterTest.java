@@ -0,0 +1,91 @@
+/*
+ * SlidingWindowLimiterTest.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowLimiterTest {
+
+    private static final long WINDOW_MS = 1000;
+
+    @Test
+    void weightsThePreviousWindowByItsOverlap() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, WINDOW_MS, 100);
+        limiter.record("alice", 100);
+        limiter.record("alice", 200);
+        assertFalse(limiter.isLimited("alice", 300));
+        assertEquals(3.0, limiter.record("alice", 300));
+        assertTrue(limiter.isLimited("alice", 999));
+
+        assertEquals(1.5, limiter.estimate("alice", 1500));
+        assertFalse(limiter.isLimited("alice", 1500));
+        assertEquals(0.0, limiter.estimate("alice", 2000));
+
+        limiter.record("alice", 400);
+        limiter.reset("alice");
+        assertEquals(0.0, limiter.estimate("alice", 400));
+    }
+
+    @Test
+    void sweepDropsOnlyKeysWhoseWindowsHaveBothExpired() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, WINDOW_MS, 100);
+        limiter.record("idle", 0);
+        limiter.record("recent", 1500);
+
+        assertEquals(1, limiter.sweep(2100));
+        assertEquals(1, limiter.size());
+        assertEquals(0.9, limiter.estimate("recent", 2100), 1e-9);
+    }
+
+    @Test
+    void aFullTableFailsClosedOrOpenAndRecoversAfterASweep() {
+        SlidingWindowLimiter closed = new SlidingWindowLimiter(3, WINDOW_MS, 2);
+        SlidingWindowLimiter open = new SlidingWindowLimiter(3, WINDOW_MS, 2, true);
+        for (SlidingWindowLimiter limiter : List.of(closed, open)) {
+            limiter.record("a", 0);
+            limiter.record("b", 0);
+        }
+
+        assertEquals(3.0, closed.record("c", 10));
+        assertEquals(0.0, open.record("c", 10));
+        assertEquals(1, closed.saturatedCount());
+        assertEquals(1, open.saturatedCount());
+        assertEquals(2, closed.size());
+
+        // Once a and b are idle for two windows, the next new key sweeps them out.
+        assertEquals(1.0, closed.record("c", 2500));
+        assertEquals(1, closed.size());
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(0xFFFF, WINDOW_MS, 100);
+        int threads = 8;
+        int perThread = 2_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) limiter.record("shared", 5_000);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        assertEquals(threads * perThread, limiter.estimate("shared", 5_000));
+    }
+}
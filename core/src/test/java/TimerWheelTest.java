@@ -0,0 +1,71 @@
+/*
+ * TimerWheelTest.java
+ * Copyright © 2025 Devin B. Royal. All rights reserved.
+ *
+ * Licensed for enterprise and educational use only.
+ * Redistribution, modification, or commercial use requires explicit written permission.
+ *
+ * Author: Devin B. Royal
+ * Contact: https://java1kind.org
+ */
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+
+    private static final long TICK_MS = 1000;
+
+    // Deadlines at the start, just past the start, the middle and the end of one tick.
+    private static final long[] DEADLINES = {5000, 5001, 5500, 5999};
+
+    @Test
+    void expiresWithinOneTickOfTheDeadlineWhenSweptEveryMillisecond() {
+        for (long deadline : DEADLINES) {
+            assertFiresWithinOneTick(deadline, 0, 1);
+        }
+    }
+
+    @Test
+    void expiresWithinOneTickOfTheDeadlineWhenSweptOncePerTick() {
+        for (long deadline : DEADLINES) {
+            for (long phase : new long[] {0, 1, 400, 500, 999}) {
+                assertFiresWithinOneTick(deadline, phase, TICK_MS);
+            }
+        }
+    }
+
+    @Test
+    void pollEarliestReturnsTheSoonestDeadline() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK_MS, 10 * TICK_MS, 0);
+        wheel.schedule("late", 7500);
+        wheel.schedule("early", 3200);
+        wheel.schedule("middle", 3900);
+
+        assertEquals("early", wheel.pollEarliest().item());
+        assertEquals("middle", wheel.pollEarliest().item());
+        assertEquals("late", wheel.pollEarliest().item());
+        assertEquals(0, wheel.size());
+    }
+
+    private static void assertFiresWithinOneTick(long deadline, long phase, long stepMs) {
+        TimerWheel<Long> wheel = new TimerWheel<>(TICK_MS, 10 * TICK_MS, 0);
+        wheel.schedule(deadline, deadline);
+        List<Long> firedAt = new ArrayList<>();
+        for (long now = phase; now <= 3 * deadline && firedAt.isEmpty(); now += stepMs) {
+            long at = now;
+            wheel.advance(now, item -> firedAt.add(at));
+        }
+
+        String where = "deadline " + deadline + ", sweeps every " + stepMs + " ms from " + phase;
+        assertEquals(1, firedAt.size(), where);
+        assertTrue(firedAt.get(0) >= deadline, "fired early: " + where);
+        assertTrue(firedAt.get(0) < deadline + TICK_MS + stepMs, "fired " + firedAt.get(0) + ": " + where);
+        assertEquals(0, wheel.size());
+    }
+}